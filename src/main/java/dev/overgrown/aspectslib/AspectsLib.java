@@ -9,11 +9,15 @@ import dev.overgrown.aspectslib.command.RecipeAspectCommand;
 import dev.overgrown.aspectslib.command.TagDumpCommand;
 import dev.overgrown.aspectslib.corruption.CorruptionManager;
 import dev.overgrown.aspectslib.data.AspectManager;
+import dev.overgrown.aspectslib.data.ChunkDataAttachments;
 import dev.overgrown.aspectslib.data.UniversalAspectManager;
+import dev.overgrown.aspectslib.entity.aura_node.AuraNodeIndex;
+import dev.overgrown.aspectslib.entity.aura_node.AuraNodeManager;
 import dev.overgrown.aspectslib.recipe.RecipeAspectManager;
 import dev.overgrown.aspectslib.registry.ModEntities;
 import dev.overgrown.aspectslib.registry.ModItems;
 import dev.overgrown.aspectslib.resonance.ResonanceManager;
+import dev.overgrown.aspectslib.networking.ChunkStateSync;
 import dev.overgrown.aspectslib.networking.SyncAspectIdentifierPacket;
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
@@ -38,6 +42,8 @@ public class AspectsLib implements ModInitializer {
 	public void onInitialize() {
         ModItems.initialize();
 		ModEntities.register();
+		AuraNodeIndex.initialize();
+		AuraNodeManager.initialize();
 
 		// Register commands
 		CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> {
@@ -66,6 +72,9 @@ public class AspectsLib implements ModInitializer {
 		ResourceManagerHelper.get(ResourceType.SERVER_DATA)
 				.registerReloadListener(new ResonanceManager());
 
+        // Per-chunk data saved in chunk NBT when enabled
+        ChunkDataAttachments.initialize();
+
         // Initialize Aether system
         ResourceManagerHelper.get(ResourceType.SERVER_DATA).registerReloadListener(new AetherManager());
         AetherEvents.initialize();
@@ -78,6 +87,9 @@ public class AspectsLib implements ModInitializer {
         // Initialize corruption system
         CorruptionManager.initialize();
 
+        // Sync aether and corruption of watched chunks to clients
+        ChunkStateSync.initialize();
+
         LOGGER.info("AspectsLib initialized!");
 	}
 }
\ No newline at end of file
@@ -1,20 +1,26 @@
 package dev.overgrown.aspectslib;
 
+import dev.overgrown.aspectslib.aether.AetherManager;
 import dev.overgrown.aspectslib.client.AspectsTooltipConfig;
 import dev.overgrown.aspectslib.client.tooltip.AspectTooltipComponent;
 import dev.overgrown.aspectslib.client.tooltip.AspectTooltipData;
 import dev.overgrown.aspectslib.data.*;
 import dev.overgrown.aspectslib.entity.aura_node.client.AuraNodeVisibilityConfig;
+import dev.overgrown.aspectslib.networking.ChunkStateSync;
 import dev.overgrown.aspectslib.networking.SyncAspectIdentifierPacket;
+import dev.overgrown.aspectslib.networking.SyncChunkStatePacket;
 import dev.overgrown.aspectslib.registry.ModEntities;
 import dev.overgrown.aspectslib.entity.aura_node.render.AuraNodeRenderer;
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientChunkEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.fabricmc.fabric.api.client.rendering.v1.EntityRendererRegistry;
 import net.fabricmc.fabric.api.client.rendering.v1.TooltipComponentCallback;
 import net.minecraft.util.Identifier;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -24,6 +30,7 @@ import java.util.Map;
  * <ol type="1">
  *     <li>Registers custom tooltip rendering</li>
  *     <li>Handles aspect data synchronization from server</li>
+ *     <li>Applies aether and corruption synced for watched chunks</li>
  * </ol>
  * </p>
  * <p>
@@ -94,6 +101,26 @@ public class AspectsLibClient implements ClientModInitializer {
             }
         });
 
+        // Handle aether and corruption sync of watched chunks
+        ClientPlayNetworking.registerGlobalReceiver(SyncChunkStatePacket.ID, (client, handler, buf, responseSender) -> {
+            List<SyncChunkStatePacket.ChunkUpdate> updates = SyncChunkStatePacket.read(buf);
+            client.execute(() -> {
+                if (client.world != null) {
+                    ChunkStateSync.applyClientUpdates(client.world, updates);
+                }
+            });
+        });
+
+        // Keep the client aether cache limited to chunks the client actually has loaded
+        ClientChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
+            AetherManager.onClientChunkUnload(world, chunk.getPos());
+            ChunkStateSync.onClientChunkUnload(world, chunk.getPos());
+        });
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> {
+            AetherManager.clearClientCache();
+            ChunkStateSync.clearClient();
+        });
+
         AspectsLib.LOGGER.info("AspectsLib Client initialized!");
     }
 }
\ No newline at end of file
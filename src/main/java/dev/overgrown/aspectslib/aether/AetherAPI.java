@@ -2,11 +2,17 @@ package dev.overgrown.aspectslib.aether;
 
 import dev.overgrown.aspectslib.data.AspectData;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
 public class AetherAPI {
 
     /**
@@ -20,17 +26,7 @@ public class AetherAPI {
      * Checks if a spell can be cast in the given chunk with the specified aspect costs
      */
     public static boolean canCastSpell(World world, ChunkPos chunkPos, AspectData cost) {
-        if (AetherManager.isDeadZone(world, chunkPos)) {
-            return false;
-        }
-
-        AetherChunkData aetherData = AetherManager.getAetherData(world, chunkPos);
-        for (Object2IntMap.Entry<Identifier> entry : cost.getMap().object2IntEntrySet()) {
-            if (!aetherData.canHarvest(entry.getKey(), entry.getIntValue())) {
-                return false;
-            }
-        }
-        return true;
+        return AetherManager.getAetherData(world, chunkPos).canHarvestAll(cost);
     }
 
     /**
@@ -41,32 +37,105 @@ public class AetherAPI {
     }
 
     /**
-     * Harvests Aether for spell casting. Returns true if successful.
+     * Harvests Aether for spell casting as a single transaction. Returns true if successful.
      */
     public static boolean castSpell(World world, ChunkPos chunkPos, AspectData cost) {
-        if (AetherManager.isDeadZone(world, chunkPos)) {
-            return false;
-        }
+        // All aspects are validated first and deducted together, so a failed cast harvests nothing
+        return AetherManager.getAetherData(world, chunkPos).harvestAll(cost);
+    }
 
-        AetherChunkData aetherData = AetherManager.getAetherData(world, chunkPos);
+    /**
+     * Harvests a cost from all loaded chunks within a square radius of chunks around a position
+     */
+    public static boolean castSpellInRadius(World world, BlockPos pos, int radius, AspectData cost,
+                                            AetherHarvestStrategy strategy) {
+        return castSpellInRadius(world, new ChunkPos(pos), radius, cost, strategy);
+    }
 
-        // First, check if we can harvest all required aspects
-        for (Object2IntMap.Entry<Identifier> entry : cost.getMap().object2IntEntrySet()) {
-            if (!aetherData.canHarvest(entry.getKey(), entry.getIntValue())) {
+    /**
+     * Harvests a cost from all loaded, non dead zone chunks within a square radius of chunks around a center chunk.
+     * The cost is split across the chunks according to the strategy and harvested as one transaction:
+     * if the chunks in range cannot cover every aspect together, nothing is harvested.
+     */
+    public static boolean castSpellInRadius(World world, ChunkPos center, int radius, AspectData cost,
+                                            AetherHarvestStrategy strategy) {
+        List<AetherChunkData> chunks = new ArrayList<>();
+        for (int x = center.x - radius; x <= center.x + radius; x++) {
+            for (int z = center.z - radius; z <= center.z + radius; z++) {
+                ChunkPos chunkPos = new ChunkPos(x, z);
+                if (world.isChunkLoaded(x, z) && AetherManager.getDeadZoneData(world, chunkPos) == null) {
+                    AetherChunkData data = AetherManager.getAetherData(world, chunkPos);
+                    data.applyRecovery(null);
+                    chunks.add(data);
+                }
+            }
+        }
+
+        // Plan the whole cost before touching any chunk
+        List<Object2IntOpenHashMap<Identifier>> shares = new ArrayList<>(chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            shares.add(new Object2IntOpenHashMap<>());
+        }
+        for (Object2IntMap.Entry<Identifier> entry : Object2IntMaps.fastIterable(cost.getMap())) {
+            if (!planAspect(chunks, shares, entry.getKey(), entry.getIntValue(), strategy)) {
                 return false;
             }
         }
 
-        // Then, harvest all aspects (transactional)
-        boolean allHarvested = true;
-        for (Object2IntMap.Entry<Identifier> entry : cost.getMap().object2IntEntrySet()) {
-            if (!aetherData.harvestAether(entry.getKey(), entry.getIntValue())) {
-                allHarvested = false;
-                break;
+        // Dead zones were filtered out above, the chunks are not checked again
+        for (int i = 0; i < chunks.size(); i++) {
+            if (!shares.get(i).isEmpty()) {
+                chunks.get(i).harvestAll(new AspectData(shares.get(i)), null);
             }
         }
+        return true;
+    }
+
+    private static boolean planAspect(List<AetherChunkData> chunks, List<Object2IntOpenHashMap<Identifier>> shares,
+                                      Identifier aspectId, int amount, AetherHarvestStrategy strategy) {
+        if (amount <= 0) {
+            return true;
+        }
+
+        int[] available = new int[chunks.size()];
+        long total = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            available[i] = chunks.get(i).getCurrentAether(aspectId);
+            total += available[i];
+        }
+        if (total < amount) {
+            return false;
+        }
 
-        return allHarvested;
+        List<Integer> order = new ArrayList<>(chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            if (available[i] > 0) {
+                order.add(i);
+            }
+        }
+        order.sort(Comparator.comparingInt((Integer i) -> available[i]).reversed());
+
+        int remaining = amount;
+        if (strategy == AetherHarvestStrategy.PROPORTIONAL) {
+            for (int i : order) {
+                int share = (int) ((long) amount * available[i] / total);
+                if (share > 0) {
+                    shares.get(i).addTo(aspectId, share);
+                    available[i] -= share;
+                    remaining -= share;
+                }
+            }
+        }
+        // Greedy, or the rounding remainder of a proportional split, comes from the richest chunks first
+        for (int i : order) {
+            if (remaining == 0) {
+                break;
+            }
+            int share = Math.min(remaining, available[i]);
+            shares.get(i).addTo(aspectId, share);
+            remaining -= share;
+        }
+        return true;
     }
 
     public static boolean hasTotalAether(World world, BlockPos pos, double requiredRU) {
@@ -171,6 +240,28 @@ public class AetherAPI {
         return deadZoneData != null && deadZoneData.isPermanent();
     }
 
+    /**
+     * Gets the number of ticks until the dead zone at a position recovers
+     */
+    public static long getTicksUntilRecovery(World world, BlockPos pos) {
+        return getTicksUntilRecovery(world, new ChunkPos(pos));
+    }
+
+    /**
+     * Gets the number of ticks until the dead zone in a chunk recovers.
+     * Returns 0 if the chunk is not a dead zone and -1 if it never recovers.
+     */
+    public static long getTicksUntilRecovery(World world, ChunkPos chunkPos) {
+        long recoveryTime = AetherManager.getDeadZoneRecoveryTime(world, chunkPos);
+        if (recoveryTime == -1) {
+            return 0;
+        }
+        if (recoveryTime == Long.MAX_VALUE) {
+            return -1;
+        }
+        return Math.max(0, recoveryTime - world.getTime());
+    }
+
     /**
      * Forces recovery of Aether at a position (useful for debugging or admin commands)
      */
@@ -1,19 +1,23 @@
 package dev.overgrown.aspectslib.aether;
 
 import dev.overgrown.aspectslib.data.AspectData;
-import dev.overgrown.aspectslib.data.BiomeAspectRegistry;
+import dev.overgrown.aspectslib.data.ChunkDataAttachments;
+import dev.overgrown.aspectslib.networking.ChunkStateSync;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+import it.unimi.dsi.fastutil.objects.ObjectArraySet;
+import it.unimi.dsi.fastutil.objects.ObjectSets;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtElement;
 import net.minecraft.nbt.NbtList;
-import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.Identifier;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
-import net.minecraft.world.biome.Biome;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -21,20 +25,24 @@ import java.util.Set;
 import static dev.overgrown.aspectslib.corruption.CorruptionManager.VITIUM_ID;
 
 public class AetherChunkData {
+    private static final Identifier[] NO_ASPECTS = new Identifier[0];
+    private static final int[] NO_AMOUNTS = new int[0];
+
     private World world;
     private final ChunkPos chunkPos;
-    private final Map<Identifier, Integer> currentAether;
-    private final Map<Identifier, Integer> maxAether;
+    // Parallel arrays, a chunk only holds a handful of aspects so a linear scan beats hashing and boxing
+    private Identifier[] aspectIds = NO_ASPECTS;
+    private int[] currentAether = NO_AMOUNTS;
+    private int[] maxAether = NO_AMOUNTS;
     private long lastRecoveryTime;
     private double totalExpendedThisHour;
     private long hourStartTime;
     private boolean initialized = false;
+    private AetherWorldState owner;
 
     public AetherChunkData(World world, ChunkPos chunkPos) {
         this.world = world;
         this.chunkPos = chunkPos;
-        this.currentAether = new HashMap<>();
-        this.maxAether = new HashMap<>();
         this.lastRecoveryTime = world.getTime();
         this.hourStartTime = world.getTime();
         this.totalExpendedThisHour = 0;
@@ -42,11 +50,12 @@ public class AetherChunkData {
         initializeFromBiome();
     }
 
-    private AetherChunkData(World world, ChunkPos chunkPos, Map<Identifier, Integer> currentAether,
-                            Map<Identifier, Integer> maxAether, long lastRecoveryTime,
+    private AetherChunkData(World world, ChunkPos chunkPos, Identifier[] aspectIds, int[] currentAether,
+                            int[] maxAether, long lastRecoveryTime,
                             double totalExpendedThisHour, long hourStartTime) {
         this.world = world;
         this.chunkPos = chunkPos;
+        this.aspectIds = aspectIds;
         this.currentAether = currentAether;
         this.maxAether = maxAether;
         this.lastRecoveryTime = lastRecoveryTime;
@@ -59,66 +68,126 @@ public class AetherChunkData {
         this.world = world;
     }
 
+    void setOwner(AetherWorldState owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Flags the region shard holding this chunk, or the chunk itself when aether is stored in chunks, for saving.
+     */
+    private void markDirty() {
+        if (owner != null) {
+            owner.attach(this);
+            owner.markDirty();
+        }
+        if (world instanceof ServerWorld serverWorld) {
+            ChunkDataAttachments.markChunkDirty(serverWorld, chunkPos);
+            ChunkStateSync.markChanged(serverWorld, chunkPos);
+        }
+    }
+
     private void initializeFromBiome() {
         if (initialized) return;
 
-        // Sample multiple points in the chunk for better biome representation
-        int[] sampleX = {chunkPos.getStartX() + 4, chunkPos.getStartX() + 8, chunkPos.getStartX() + 12};
-        int[] sampleZ = {chunkPos.getStartZ() + 4, chunkPos.getStartZ() + 8, chunkPos.getStartZ() + 12};
-
-        Map<Identifier, Integer> biomeAspectTotals = new HashMap<>();
-        int sampleCount = 0;
-
-        for (int x : sampleX) {
-            for (int z : sampleZ) {
-                BlockPos samplePos = new BlockPos(x, 64, z);
-                RegistryEntry<Biome> biomeEntry = world.getBiome(samplePos);
-
-                biomeEntry.getKey().ifPresent(biomeKey -> {
-                    AspectData biomeAspects = BiomeAspectRegistry.get(biomeKey);
-                    if (!biomeAspects.isEmpty()) {
-                        for (Map.Entry<Identifier, Integer> entry : biomeAspects.getMap().entrySet()) {
-                            biomeAspectTotals.merge(entry.getKey(), entry.getValue(), Integer::sum);
-                        }
-                    }
-                });
-                sampleCount++;
+        BiomeAetherCapacity capacity = BiomeAetherCapacity.get(world, chunkPos);
+        aspectIds = capacity.getAspectIds();
+        maxAether = capacity.getCapacities();
+        currentAether = maxAether.clone();
+
+        initialized = true;
+    }
+
+    private int indexOf(Identifier aspectId) {
+        for (int i = 0; i < aspectIds.length; i++) {
+            if (aspectIds[i].equals(aspectId)) {
+                return i;
             }
         }
+        return -1;
+    }
+
+    public boolean canHarvest(Identifier aspectId, int amount) {
+        return getHarvestableIndex(aspectId, amount) != -1;
+    }
 
-        // Calculate average and set capacities
-        for (Map.Entry<Identifier, Integer> entry : biomeAspectTotals.entrySet()) {
-            int averageDensity = entry.getValue() / sampleCount;
-            int capacity = averageDensity * 16 * 16 * 256; // RU/m³ * chunk volume
-            maxAether.put(entry.getKey(), capacity);
-            currentAether.put(entry.getKey(), capacity);
+    /**
+     * @return the index of the aspect if the amount can be harvested, {@code -1} otherwise
+     */
+    private int getHarvestableIndex(Identifier aspectId, int amount) {
+        if (AetherManager.isDeadZone(world, chunkPos)) {
+            return -1;
         }
 
-        initialized = true;
+        applyRecovery(null);
+        int index = indexOf(aspectId);
+        return index != -1 && currentAether[index] >= amount ? index : -1;
     }
 
-    public boolean canHarvest(Identifier aspectId, int amount) {
-        if (AetherManager.isDeadZone(world, chunkPos)) {
+    public boolean harvestAether(Identifier aspectId, int amount) {
+        int index = getHarvestableIndex(aspectId, amount);
+        if (index == -1) {
             return false;
         }
 
-        Integer current = currentAether.get(aspectId);
-        return current != null && current >= amount;
+        currentAether[index] -= amount;
+        totalExpendedThisHour += amount;
+        markDirty();
+        checkForDeadZone();
+        return true;
     }
 
-    public boolean harvestAether(Identifier aspectId, int amount) {
-        if (!canHarvest(aspectId, amount)) {
+    /**
+     * Checks every aspect of a cost against this chunk, resolving the dead zone state and recovery only once.
+     */
+    public boolean canHarvestAll(AspectData cost) {
+        return canHarvestAll(cost, AetherManager.getDeadZoneData(world, chunkPos));
+    }
+
+    /**
+     * Checks a cost against this chunk with its dead zone state already resolved by the caller.
+     */
+    boolean canHarvestAll(AspectData cost, @Nullable DeadZoneData deadZone) {
+        if (deadZone != null) {
+            return false;
+        }
+
+        applyRecovery(null);
+        for (Object2IntMap.Entry<Identifier> entry : Object2IntMaps.fastIterable(cost.getMap())) {
+            int index = indexOf(entry.getKey());
+            if (index == -1 || currentAether[index] < entry.getIntValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Harvests every aspect of a cost or none of them. All amounts are validated before anything is deducted,
+     * and the chunk is saved and checked for dead zone conditions once for the whole cost.
+     */
+    public boolean harvestAll(AspectData cost) {
+        return harvestAll(cost, AetherManager.getDeadZoneData(world, chunkPos));
+    }
+
+    /**
+     * Harvests a cost with the dead zone state of this chunk already resolved by the caller.
+     */
+    boolean harvestAll(AspectData cost, @Nullable DeadZoneData deadZone) {
+        if (!canHarvestAll(cost, deadZone)) {
             return false;
         }
 
-        Integer current = currentAether.get(aspectId);
-        if (current != null) {
-            currentAether.put(aspectId, current - amount);
-            totalExpendedThisHour += amount;
+        int total = 0;
+        for (Object2IntMap.Entry<Identifier> entry : Object2IntMaps.fastIterable(cost.getMap())) {
+            currentAether[indexOf(entry.getKey())] -= entry.getIntValue();
+            total += entry.getIntValue();
+        }
+        if (total != 0) {
+            totalExpendedThisHour += total;
+            markDirty();
             checkForDeadZone();
-            return true;
         }
-        return false;
+        return true;
     }
 
     private void checkForDeadZone() {
@@ -138,9 +207,9 @@ public class AetherChunkData {
 
         // Check for temporary dead zone condition (all aspects severely depleted)
         boolean severelyDepleted = true;
-        for (Map.Entry<Identifier, Integer> entry : currentAether.entrySet()) {
-            int max = maxAether.getOrDefault(entry.getKey(), 0);
-            if (max > 0 && entry.getValue() > max * 0.1) { // Less than 90% depleted
+        for (int i = 0; i < aspectIds.length; i++) {
+            int max = maxAether[i];
+            if (max > 0 && currentAether[i] > max * 0.1) { // Less than 90% depleted
                 severelyDepleted = false;
                 break;
             }
@@ -151,81 +220,154 @@ public class AetherChunkData {
         }
     }
 
+    /**
+     * Brings the aether up to date and lifts a temporary dead zone once it has recovered enough.
+     * Recovery also happens on its own whenever the aether is read, so this never needs to be called periodically.
+     */
     public void recoverAether() {
         if (world == null) return;
-        
-        if (AetherManager.isDeadZone(world, chunkPos)) {
-            recoverDeadZone();
-            return;
-        }
-
-        long currentTime = world.getTime();
-        long timeSinceLastRecovery = currentTime - lastRecoveryTime;
-
-        // Recover based on configured rate
-        double recoveryRate = AetherManager.getRecoveryRate(world);
-        if (timeSinceLastRecovery >= 24000) { // One day in ticks
-            int recoveryCycles = (int) (timeSinceLastRecovery / 24000);
 
-            for (Map.Entry<Identifier, Integer> entry : maxAether.entrySet()) {
-                Identifier aspectId = entry.getKey();
-                int max = entry.getValue();
-                int current = currentAether.getOrDefault(aspectId, 0);
+        DeadZoneData deadZoneData = AetherManager.getDeadZoneData(world, chunkPos);
+        applyRecovery(deadZoneData);
+        if (deadZoneData != null && !deadZoneData.isPermanent() && hasRecoveredFromDeadZone()) {
+            AetherManager.removeDeadZone(world, chunkPos);
+        }
+    }
 
-                if (current < max) {
-                    int recoveryAmount = (int) (recoveryRate * recoveryCycles);
-                    currentAether.put(aspectId, Math.min(max, current + recoveryAmount));
-                }
+    /**
+     * Whether every aspect is back at the configured share of its capacity.
+     */
+    private boolean hasRecoveredFromDeadZone() {
+        double threshold = AetherManager.getTemporaryDeadZoneRecoveryThreshold(world);
+        for (int i = 0; i < aspectIds.length; i++) {
+            if (currentAether[i] < maxAether[i] && currentAether[i] < (long) Math.ceil(maxAether[i] * threshold)) {
+                return false;
             }
-            lastRecoveryTime = currentTime - (timeSinceLastRecovery % 24000);
         }
+        return true;
     }
 
-    private void recoverDeadZone() {
-        DeadZoneData deadZoneData = AetherManager.getDeadZoneData(world, chunkPos);
-        if (deadZoneData == null || deadZoneData.isPermanent()) {
-            return;
+    /**
+     * Adds the recovery of every full day since the last recovery, computed from the elapsed world time.
+     * Permanent dead zones do not recover.
+     */
+    private void applyRecovery() {
+        // The dead zone is only looked up once a recovery is actually due
+        if (world != null && world.getTime() - lastRecoveryTime >= 24000) {
+            applyRecovery(AetherManager.getDeadZoneData(world, chunkPos));
         }
+    }
+
+    /**
+     * Same as {@link #applyRecovery()} with the dead zone of this chunk already resolved by the caller.
+     */
+    void applyRecovery(@Nullable DeadZoneData deadZoneData) {
+        if (world == null) return;
 
         long currentTime = world.getTime();
         long timeSinceLastRecovery = currentTime - lastRecoveryTime;
+        if (timeSinceLastRecovery < 24000) { // One day in ticks
+            return;
+        }
 
-        if (timeSinceLastRecovery >= 24000) {
-            int recoveryCycles = (int) (timeSinceLastRecovery / 24000);
-            double recoveryAmount = AetherManager.getRecoveryRate(world) * recoveryCycles;
+        if (deadZoneData != null && deadZoneData.isPermanent()) {
+            return;
+        }
 
-            boolean sufficientlyRecovered = true;
+        int recoveryCycles = (int) (timeSinceLastRecovery / 24000);
+        int recoveryAmount = (int) (AetherManager.getRecoveryRate(world) * recoveryCycles);
+        boolean changed = false;
 
-            for (Map.Entry<Identifier, Integer> entry : maxAether.entrySet()) {
-                Identifier aspectId = entry.getKey();
-                int max = entry.getValue();
-                int current = currentAether.getOrDefault(aspectId, 0);
+        for (int i = 0; i < aspectIds.length; i++) {
+            int max = maxAether[i];
+            int current = currentAether[i];
 
-                if (current < max) {
-                    int newAmount = Math.min(max, current + (int) recoveryAmount);
-                    currentAether.put(aspectId, newAmount);
+            if (current < max && recoveryAmount > 0) {
+                currentAether[i] = Math.min(max, current + recoveryAmount);
+                changed = true;
+            }
+        }
+        lastRecoveryTime = currentTime - (timeSinceLastRecovery % 24000);
 
-                    // Check if the recovery threshold was reached
-                    if (newAmount < max * AetherManager.getTemporaryDeadZoneRecoveryThreshold(world)) {
-                        sufficientlyRecovered = false;
-                    }
-                }
+        // Full chunks only move their timestamp, which does not need saving
+        if (changed) {
+            markDirty();
+        }
+    }
+
+    /**
+     * World time at which a temporary dead zone in this chunk has recovered to the configured threshold,
+     * {@code lastRecoveryTime} if it already has, or {@link Long#MAX_VALUE} if it never will.
+     */
+    public long getDeadZoneRecoveryTime() {
+        return getDeadZoneRecoveryTime(world);
+    }
+
+    /**
+     * Same as {@link #getDeadZoneRecoveryTime()} for the given world, which does not rely on the world of this
+     * data being set yet.
+     */
+    long getDeadZoneRecoveryTime(World world) {
+        double rate = AetherManager.getRecoveryRate(world);
+        double threshold = AetherManager.getTemporaryDeadZoneRecoveryThreshold(world);
+
+        long cyclesNeeded = 0;
+        for (int i = 0; i < aspectIds.length; i++) {
+            int max = maxAether[i];
+            int current = currentAether[i];
+            if (current >= max) {
+                continue;
             }
 
-            lastRecoveryTime = currentTime - (timeSinceLastRecovery % 24000);
+            long deficit = (long) Math.ceil(max * threshold) - current;
+            if (deficit <= 0) {
+                continue;
+            }
+            if (rate <= 0) {
+                return Long.MAX_VALUE;
+            }
+            cyclesNeeded = Math.max(cyclesNeeded, (long) Math.ceil(deficit / rate));
+        }
+        return lastRecoveryTime + cyclesNeeded * 24000;
+    }
+
+    /**
+     * Applies aether synced from the server. A full update replaces every aspect, a delta only sets the listed ones.
+     */
+    void applySync(boolean full, Identifier[] ids, int[] current, int[] max) {
+        if (full) {
+            aspectIds = ids;
+            currentAether = current;
+            maxAether = max;
+            lastRecoveryTime = world.getTime();
+            initialized = true;
+            return;
+        }
 
-            if (sufficientlyRecovered) {
-                AetherManager.removeDeadZone(world, chunkPos);
+        applyRecovery();
+        for (int i = 0; i < ids.length; i++) {
+            int index = indexOf(ids[i]);
+            if (index == -1) {
+                index = aspectIds.length;
+                aspectIds = Arrays.copyOf(aspectIds, index + 1);
+                currentAether = Arrays.copyOf(currentAether, index + 1);
+                maxAether = Arrays.copyOf(maxAether, index + 1);
+                aspectIds[index] = ids[i];
             }
+            currentAether[index] = current[i];
+            maxAether[index] = max[i];
         }
     }
 
     public int getCurrentAether(Identifier aspectId) {
-        return currentAether.getOrDefault(aspectId, 0);
+        applyRecovery();
+        int index = indexOf(aspectId);
+        return index != -1 ? currentAether[index] : 0;
     }
 
     public int getMaxAether(Identifier aspectId) {
-        return maxAether.getOrDefault(aspectId, 0);
+        int index = indexOf(aspectId);
+        return index != -1 ? maxAether[index] : 0;
     }
 
     public double getAetherPercentage(Identifier aspectId) {
@@ -235,7 +377,7 @@ public class AetherChunkData {
     }
 
     public Set<Identifier> getAspectIds() {
-        return Collections.unmodifiableSet(currentAether.keySet());
+        return ObjectSets.unmodifiable(new ObjectArraySet<>(aspectIds));
     }
 
     public boolean canHarvestVitium() {
@@ -250,7 +392,19 @@ public class AetherChunkData {
     }
 
     public boolean isEmpty() {
-        return currentAether.isEmpty() && maxAether.isEmpty();
+        return aspectIds.length == 0;
+    }
+
+    /**
+     * Whether this data is exactly what {@link #initializeFromBiome()} would produce again: every aspect is at
+     * capacity and nothing was harvested in the current hour.
+     */
+    public boolean isReconstructible() {
+        return totalExpendedThisHour == 0 && Arrays.equals(currentAether, maxAether);
+    }
+
+    public ChunkPos getChunkPos() {
+        return chunkPos;
     }
 
     public NbtCompound toNbt() {
@@ -258,20 +412,20 @@ public class AetherChunkData {
 
         // Save current Aether
         NbtList currentList = new NbtList();
-        for (Map.Entry<Identifier, Integer> entry : currentAether.entrySet()) {
+        for (int i = 0; i < aspectIds.length; i++) {
             NbtCompound aspectNbt = new NbtCompound();
-            aspectNbt.putString("Aspect", entry.getKey().toString());
-            aspectNbt.putInt("Amount", entry.getValue());
+            aspectNbt.putString("Aspect", aspectIds[i].toString());
+            aspectNbt.putInt("Amount", currentAether[i]);
             currentList.add(aspectNbt);
         }
         nbt.put("CurrentAether", currentList);
 
         // Save max Aether
         NbtList maxList = new NbtList();
-        for (Map.Entry<Identifier, Integer> entry : maxAether.entrySet()) {
+        for (int i = 0; i < aspectIds.length; i++) {
             NbtCompound aspectNbt = new NbtCompound();
-            aspectNbt.putString("Aspect", entry.getKey().toString());
-            aspectNbt.putInt("Amount", entry.getValue());
+            aspectNbt.putString("Aspect", aspectIds[i].toString());
+            aspectNbt.putInt("Amount", maxAether[i]);
             maxList.add(aspectNbt);
         }
         nbt.put("MaxAether", maxList);
@@ -285,6 +439,10 @@ public class AetherChunkData {
     }
 
     public static AetherChunkData fromNbt(NbtCompound nbt) {
+        return fromNbt(new ChunkPos(0, 0), nbt); // Position will be set by caller
+    }
+
+    public static AetherChunkData fromNbt(ChunkPos chunkPos, NbtCompound nbt) {
         Map<Identifier, Integer> currentAether = new HashMap<>();
         Map<Identifier, Integer> maxAether = new HashMap<>();
 
@@ -310,15 +468,27 @@ public class AetherChunkData {
             }
         }
 
+        // Flatten into parallel arrays over every aspect seen in either list
+        Set<Identifier> ids = new ObjectArraySet<>(currentAether.keySet());
+        ids.addAll(maxAether.keySet());
+        Identifier[] aspectIds = ids.toArray(NO_ASPECTS);
+        int[] current = new int[aspectIds.length];
+        int[] max = new int[aspectIds.length];
+        for (int i = 0; i < aspectIds.length; i++) {
+            current[i] = currentAether.getOrDefault(aspectIds[i], 0);
+            max[i] = maxAether.getOrDefault(aspectIds[i], 0);
+        }
+
         return new AetherChunkData(
                 // World ist set separately when the first chunk data is requested from AetherWorldState
                 null,
-                new ChunkPos(0, 0), // Position will be set by caller
-                currentAether,
-                maxAether,
+                chunkPos,
+                aspectIds,
+                current,
+                max,
                 nbt.getLong("LastRecoveryTime"),
                 nbt.getDouble("TotalExpendedThisHour"),
                 nbt.getLong("HourStartTime")
         );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,16 @@
+package dev.overgrown.aspectslib.aether;
+
+/**
+ * How an area harvest splits a cost across the chunks in range.
+ */
+public enum AetherHarvestStrategy {
+    /**
+     * Every chunk gives a share proportional to how much of the aspect it holds.
+     */
+    PROPORTIONAL,
+
+    /**
+     * The richest chunks are drained first, leaving the poorer chunks untouched where possible.
+     */
+    GREEDY
+}
@@ -2,7 +2,12 @@ package dev.overgrown.aspectslib.aether;
 
 import com.google.gson.JsonElement;
 import dev.overgrown.aspectslib.AspectsLib;
+import dev.overgrown.aspectslib.data.ChunkDataAttachments;
+import dev.overgrown.aspectslib.data.RegionShardedState;
+import dev.overgrown.aspectslib.data.WorldContext;
 import net.fabricmc.fabric.api.resource.IdentifiableResourceReloadListener;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
 import net.minecraft.resource.JsonDataLoader;
 import net.minecraft.resource.ResourceManager;
 import net.minecraft.server.MinecraftServer;
@@ -10,16 +15,28 @@ import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.profiler.Profiler;
-import net.minecraft.world.PersistentStateManager;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class AetherManager extends JsonDataLoader implements IdentifiableResourceReloadListener {
     private static final Map<Identifier, AetherConfig> DIMENSION_CONFIGS = new ConcurrentHashMap<>();
-    private static final Map<ChunkPos, AetherChunkData> CHUNK_CACHE = new ConcurrentHashMap<>();
+    private static final WorldContext.Key<ResolvedConfig> RESOLVED_CONFIG = WorldContext.key(world -> new ResolvedConfig());
+    // Bumped on every reload so worlds resolve their config again
+    private static volatile int configGeneration;
+    private static final ClientAetherCache CLIENT_CACHE = new ClientAetherCache();
+    private static final RegionShardedState<AetherWorldState> WORLD_STATES = new RegionShardedState<>(
+            "aspectslib_aether",
+            AetherWorldState::fromNbt,
+            AetherWorldState::new,
+            AetherWorldState::splitIntoShards
+    );
+    private static final DeadZoneRecoveryQueue DEAD_ZONE_RECOVERIES = new DeadZoneRecoveryQueue();
     private static MinecraftServer server;
 
     public AetherManager() {
@@ -29,7 +46,7 @@ public class AetherManager extends JsonDataLoader implements IdentifiableResourc
     @Override
     protected void apply(Map<Identifier, JsonElement> prepared, ResourceManager manager, Profiler profiler) {
         DIMENSION_CONFIGS.clear();
-        CHUNK_CACHE.clear();
+        CLIENT_CACHE.clear();
 
         prepared.forEach((id, json) -> {
             try {
@@ -41,38 +58,67 @@ public class AetherManager extends JsonDataLoader implements IdentifiableResourc
             }
         });
 
+        configGeneration++;
+
         AspectsLib.LOGGER.info("Loaded {} Aether dimension configurations", DIMENSION_CONFIGS.size());
     }
 
+    static void initialize() {
+        ChunkDataAttachments.register("Aether", new ChunkAttachment());
+    }
+
     public static void setServer(MinecraftServer server) {
         AetherManager.server = server;
     }
 
     public static AetherChunkData getAetherData(World world, ChunkPos chunkPos) {
         if (world.isClient()) {
-            return CHUNK_CACHE.computeIfAbsent(chunkPos, pos -> new AetherChunkData(world, pos));
+            return CLIENT_CACHE.getOrCreate(world, chunkPos);
         }
 
         ServerWorld serverWorld = (ServerWorld) world;
-        AetherWorldState worldState = getWorldState(serverWorld);
+        AetherWorldState worldState = getWorldState(serverWorld, chunkPos);
         return worldState.getOrCreateChunkData(chunkPos, world);
     }
 
+    /**
+     * Returns the aether of a chunk if the server holds any for it, without creating it from the biome.
+     */
+    public static AetherChunkData getAetherDataIfPresent(ServerWorld world, ChunkPos chunkPos) {
+        AetherWorldState worldState = WORLD_STATES.getIfPresent(world, chunkPos);
+        return worldState != null ? worldState.getChunkData(chunkPos, world) : null;
+    }
+
+    /**
+     * Applies aether levels the server synced for a chunk to the client cache.
+     */
+    public static void applyClientSync(World world, ChunkPos chunkPos, boolean full,
+                                       Identifier[] aspectIds, int[] currentAether, int[] maxAether) {
+        CLIENT_CACHE.getOrCreate(world, chunkPos).applySync(full, aspectIds, currentAether, maxAether);
+    }
+
     public static void markAsDeadZone(World world, ChunkPos chunkPos, DeadZoneData data) {
         if (world.isClient()) return;
 
         ServerWorld serverWorld = (ServerWorld) world;
-        AetherWorldState worldState = getWorldState(serverWorld);
+        AetherWorldState worldState = getWorldState(serverWorld, chunkPos);
         worldState.markAsDeadZone(chunkPos, data);
-        CHUNK_CACHE.remove(chunkPos);
+        ChunkDataAttachments.markChunkDirty(serverWorld, chunkPos);
+        CLIENT_CACHE.remove(world, chunkPos);
+        if (!data.isPermanent()) {
+            scheduleDeadZoneRecovery(serverWorld, chunkPos, data);
+        }
     }
 
     public static void removeDeadZone(World world, ChunkPos chunkPos) {
         if (world.isClient()) return;
 
         ServerWorld serverWorld = (ServerWorld) world;
-        AetherWorldState worldState = getWorldState(serverWorld);
-        worldState.removeDeadZone(chunkPos);
+        AetherWorldState worldState = WORLD_STATES.getIfPresent(serverWorld, chunkPos);
+        if (worldState != null) {
+            worldState.removeDeadZone(chunkPos);
+            ChunkDataAttachments.markChunkDirty(serverWorld, chunkPos);
+        }
     }
 
     public static boolean isDeadZone(World world, ChunkPos chunkPos) {
@@ -80,41 +126,141 @@ public class AetherManager extends JsonDataLoader implements IdentifiableResourc
             return false;
         }
 
-        ServerWorld serverWorld = (ServerWorld) world;
-        AetherWorldState worldState = getWorldState(serverWorld);
-        return worldState.isDeadZone(chunkPos);
+        return getDeadZoneData(world, chunkPos) != null;
     }
 
     public static DeadZoneData getDeadZoneData(World world, ChunkPos chunkPos) {
         if (world.isClient()) return null;
 
         ServerWorld serverWorld = (ServerWorld) world;
-        AetherWorldState worldState = getWorldState(serverWorld);
-        return worldState.getDeadZoneData(chunkPos);
+        AetherWorldState worldState = WORLD_STATES.getIfPresent(serverWorld, chunkPos);
+        DeadZoneData data = worldState != null ? worldState.getDeadZoneData(chunkPos) : null;
+        if (data != null && !data.isPermanent() && data.getScheduledRecoveryTime() == -1) {
+            // Dead zone loaded from disk, queue its recovery the first time it is seen
+            scheduleDeadZoneRecovery(serverWorld, chunkPos, data);
+        }
+        return data;
+    }
+
+    private static void scheduleDeadZoneRecovery(ServerWorld world, ChunkPos chunkPos, DeadZoneData data) {
+        AetherChunkData chunkData = WORLD_STATES.getOrCreate(world, chunkPos).getChunkData(chunkPos, world);
+        long dueTime = chunkData != null
+                ? chunkData.getDeadZoneRecoveryTime(world)
+                : data.getCreationTime() + 24000; // No aether left to track, check again after a day
+        DEAD_ZONE_RECOVERIES.schedule(world, chunkPos, data, dueTime);
+    }
+
+    /**
+     * Lifts a temporary dead zone that has recovered enough, or schedules the next check.
+     */
+    static void checkDeadZoneRecovery(ServerWorld world, ChunkPos chunkPos, DeadZoneData data) {
+        AetherChunkData chunkData = getAetherData(world, chunkPos);
+        chunkData.recoverAether();
+        if (isDeadZone(world, chunkPos)) {
+            DEAD_ZONE_RECOVERIES.schedule(world, chunkPos, data, chunkData.getDeadZoneRecoveryTime(world));
+        }
+    }
+
+    /**
+     * Gets the world time at which a temporary dead zone will have recovered
+     * @return the recovery time, {@code -1} if the chunk is not a dead zone, or {@link Long#MAX_VALUE}
+     * if it never recovers (permanent dead zones or no recovery configured)
+     */
+    public static long getDeadZoneRecoveryTime(World world, ChunkPos chunkPos) {
+        DeadZoneData data = getDeadZoneData(world, chunkPos);
+        if (data == null) {
+            return -1;
+        }
+        if (data.isPermanent()) {
+            return Long.MAX_VALUE;
+        }
+        return data.getScheduledRecoveryTime();
+    }
+
+    static void tickDeadZoneRecoveries(MinecraftServer server) {
+        DEAD_ZONE_RECOVERIES.tick(server);
+    }
+
+    /**
+     * Returns the state of the 32x32 chunk region holding the given chunk. Each region is saved to its own file.
+     */
+    private static AetherWorldState getWorldState(ServerWorld world, ChunkPos chunkPos) {
+        return WORLD_STATES.getOrCreate(world, chunkPos);
+    }
+
+    /**
+     * Starts computing the biome capacity of a loaded chunk off-thread, ready for its first aether access, and queues
+     * the recovery of a temporary dead zone in it.
+     */
+    public static void onChunkLoad(ServerWorld world, WorldChunk chunk) {
+        WORLD_STATES.onChunkLoad(world, chunk.getPos());
+        BiomeAetherCapacity.precompute(world, chunk);
+        // Recovery schedules are not saved, queue temporary dead zones again as their chunks come back
+        getDeadZoneData(world, chunk.getPos());
+    }
+
+    /**
+     * Forgets the aether of an unloaded chunk if it is full and untouched, it is rebuilt from the biome when needed.
+     */
+    public static void onChunkUnload(ServerWorld world, ChunkPos chunkPos) {
+        WORLD_STATES.onChunkUnload(world, chunkPos);
+        BiomeAetherCapacity.discard(world, chunkPos);
+        AetherWorldState worldState = WORLD_STATES.getIfPresent(world, chunkPos);
+        if (worldState != null) {
+            worldState.evictIfReconstructible(chunkPos);
+        }
     }
 
-    private static AetherWorldState getWorldState(ServerWorld world) {
-        PersistentStateManager persistentStateManager = world.getPersistentStateManager();
-        return persistentStateManager.getOrCreate(
-                AetherWorldState::fromNbt,
-                AetherWorldState::new,
-                "aspectslib_aether"
-        );
+    /**
+     * Saves and drops the region states none of whose chunks is loaded anymore.
+     */
+    static void releaseUnusedStates(ServerWorld world) {
+        WORLD_STATES.releaseUnused(world);
+    }
+
+    /**
+     * Forgets the client-side aether of a chunk the client unloaded.
+     */
+    public static void onClientChunkUnload(World world, ChunkPos chunkPos) {
+        CLIENT_CACHE.remove(world, chunkPos);
+    }
+
+    /**
+     * Forgets all client-side aether, called when the client leaves a server.
+     */
+    public static void clearClientCache() {
+        CLIENT_CACHE.clear();
+    }
+
+    /**
+     * Drops the cached region states of a world when it unloads.
+     */
+    public static void unloadWorld(ServerWorld world) {
+        WORLD_STATES.unload(world);
+        DEAD_ZONE_RECOVERIES.clear(world);
     }
 
     public static Collection<AetherChunkData> getAllChunkData(World world) {
-        if (world.isClient()) return CHUNK_CACHE.values();
+        if (world.isClient()) return CLIENT_CACHE.getAll(world);
 
         ServerWorld serverWorld = (ServerWorld) world;
-        AetherWorldState worldState = getWorldState(serverWorld);
-        return worldState.getAllChunkData();
+        List<AetherChunkData> all = new ArrayList<>();
+        for (AetherWorldState worldState : WORLD_STATES.getAll(serverWorld)) {
+            all.addAll(worldState.getAllChunkData());
+        }
+        return all;
     }
 
+    /**
+     * Flags every region state in memory for saving. Changes already mark their own region dirty,
+     * so this is only needed to force a full rewrite.
+     */
     public static void saveAllData() {
         if (server != null) {
             for (ServerWorld world : server.getWorlds()) {
-                AetherWorldState worldState = getWorldState(world);
-                worldState.markDirty();
+                for (AetherWorldState worldState : WORLD_STATES.getAllLoaded(world)) {
+                    worldState.markDirty();
+                }
             }
         }
     }
@@ -127,8 +273,7 @@ public class AetherManager extends JsonDataLoader implements IdentifiableResourc
      * @return The recovery rate in RU per day
      */
     public static double getRecoveryRate(World world) {
-        Identifier dimensionId = world.getRegistryKey().getValue();
-        AetherConfig config = DIMENSION_CONFIGS.get(dimensionId);
+        AetherConfig config = getConfig(world);
         return config != null ? config.recoveryRate : 1.0;
     }
 
@@ -138,8 +283,7 @@ public class AetherManager extends JsonDataLoader implements IdentifiableResourc
      * @return The RU threshold for permanent dead zones
      */
     public static int getPermanentDeadZoneThreshold(World world) {
-        Identifier dimensionId = world.getRegistryKey().getValue();
-        AetherConfig config = DIMENSION_CONFIGS.get(dimensionId);
+        AetherConfig config = getConfig(world);
         return config != null ? config.permanentDeadZoneThreshold : 10000;
     }
 
@@ -149,8 +293,7 @@ public class AetherManager extends JsonDataLoader implements IdentifiableResourc
      * @return The recovery threshold as a percentage (0.0 to 1.0)
      */
     public static double getTemporaryDeadZoneRecoveryThreshold(World world) {
-        Identifier dimensionId = world.getRegistryKey().getValue();
-        AetherConfig config = DIMENSION_CONFIGS.get(dimensionId);
+        AetherConfig config = getConfig(world);
         return config != null ? config.temporaryDeadZoneRecoveryThreshold : 0.1;
     }
 
@@ -160,11 +303,26 @@ public class AetherManager extends JsonDataLoader implements IdentifiableResourc
      * @return The volume of a chunk in cubic meters
      */
     public static int getChunkVolume(World world) {
-        Identifier dimensionId = world.getRegistryKey().getValue();
-        AetherConfig config = DIMENSION_CONFIGS.get(dimensionId);
+        AetherConfig config = getConfig(world);
         return config != null ? config.chunkVolume : (16 * 16 * 256); // Default chunk volume
     }
 
+    /**
+     * Server worlds keep the config resolved for their dimension until the next reload.
+     */
+    private static AetherConfig getConfig(World world) {
+        if (world instanceof ServerWorld serverWorld) {
+            ResolvedConfig resolved = WorldContext.get(serverWorld, RESOLVED_CONFIG);
+            int generation = configGeneration;
+            if (resolved.generation != generation) {
+                resolved.config = DIMENSION_CONFIGS.get(world.getRegistryKey().getValue());
+                resolved.generation = generation;
+            }
+            return resolved.config;
+        }
+        return DIMENSION_CONFIGS.get(world.getRegistryKey().getValue());
+    }
+
     /**
      * Gets the Aether configuration for a specific dimension
      * @param dimensionId The dimension identifier
@@ -191,6 +349,63 @@ public class AetherManager extends JsonDataLoader implements IdentifiableResourc
         return new ConcurrentHashMap<>(DIMENSION_CONFIGS);
     }
 
+    private static class ResolvedConfig {
+        private int generation = -1;
+        private AetherConfig config;
+    }
+
+    /**
+     * Saves the aether and dead zone of a chunk in the chunk's own NBT when chunk storage is enabled.
+     */
+    private static class ChunkAttachment implements ChunkDataAttachments.Attachment {
+        @Override
+        public NbtCompound write(ServerWorld world, ChunkPos chunkPos) {
+            AetherWorldState worldState = WORLD_STATES.getIfPresent(world, chunkPos);
+            if (worldState == null) {
+                return null;
+            }
+
+            NbtCompound nbt = new NbtCompound();
+            AetherChunkData data = worldState.getChunkData(chunkPos, world);
+            if (data != null && !data.isEmpty() && !data.isReconstructible()) {
+                nbt.put("Data", data.toNbt());
+            }
+            DeadZoneData deadZone = worldState.getDeadZoneData(chunkPos);
+            if (deadZone != null) {
+                nbt.put("DeadZoneData", deadZone.toNbt());
+            }
+            return nbt.isEmpty() ? null : nbt;
+        }
+
+        @Override
+        public void read(ServerWorld world, ChunkPos chunkPos, NbtCompound nbt, boolean authoritative) {
+            AetherWorldState worldState = getWorldState(world, chunkPos);
+            if (!authoritative && worldState.contains(chunkPos)) {
+                return;
+            }
+
+            worldState.remove(chunkPos);
+            if (nbt.contains("Data", NbtElement.COMPOUND_TYPE)) {
+                worldState.putChunkData(chunkPos, AetherChunkData.fromNbt(chunkPos, nbt.getCompound("Data")), world);
+            }
+            if (nbt.contains("DeadZoneData", NbtElement.COMPOUND_TYPE)) {
+                DeadZoneData deadZone = DeadZoneData.fromNbt(nbt.getCompound("DeadZoneData"));
+                worldState.putDeadZone(chunkPos, deadZone);
+                if (!deadZone.isPermanent()) {
+                    scheduleDeadZoneRecovery(world, chunkPos, deadZone);
+                }
+            }
+        }
+
+        @Override
+        public void unload(ServerWorld world, ChunkPos chunkPos) {
+            AetherWorldState worldState = WORLD_STATES.getIfPresent(world, chunkPos);
+            if (worldState != null) {
+                worldState.remove(chunkPos);
+            }
+        }
+    }
+
     @Override
     public Identifier getFabricId() {
         return AspectsLib.identifier("aether");
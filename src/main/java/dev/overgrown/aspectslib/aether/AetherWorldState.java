@@ -1,5 +1,7 @@
 package dev.overgrown.aspectslib.aether;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtElement;
 import net.minecraft.nbt.NbtList;
@@ -9,12 +11,16 @@ import net.minecraft.world.World;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.function.Function;
 
+/**
+ * Aether of one region of chunks. Chunks whose aether is full and untouched can be rebuilt from their biome at
+ * any time, so they are neither saved nor kept once their chunk unloads, and chunks that are not loaded are only
+ * added when their aether actually changes.
+ */
 public class AetherWorldState extends PersistentState {
-    private final Map<ChunkPos, AetherChunkData> chunkData = new HashMap<>();
-    private final Map<ChunkPos, DeadZoneData> deadZones = new HashMap<>();
+    private final Long2ObjectMap<AetherChunkData> chunkData = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectMap<DeadZoneData> deadZones = new Long2ObjectOpenHashMap<>();
     private World world;
 
     public AetherWorldState() {
@@ -22,52 +28,132 @@ public class AetherWorldState extends PersistentState {
     }
 
     public AetherChunkData getOrCreateChunkData(ChunkPos chunkPos, World world) {
-        // Ensure that on first request of a chunk, the world reference is set for all chunks loaded from disk
+        bindWorld(world);
+        long key = chunkPos.toLong();
+        AetherChunkData data = chunkData.get(key);
+        if (data == null) {
+            data = new AetherChunkData(world, chunkPos);
+            data.setOwner(this);
+            // Lookups of unloaded chunks stay detached until the data changes, see attach
+            if (world.isClient() || world.isChunkLoaded(chunkPos.x, chunkPos.z)) {
+                chunkData.put(key, data);
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Sets the world reference of every chunk loaded from disk the first time the state is used with its world.
+     */
+    private void bindWorld(World world) {
         if (this.world == null) {
             this.world = world;
             for (AetherChunkData aetherChunkData : chunkData.values()) {
                 aetherChunkData.setWorld(this.world);
             }
         }
-        return chunkData.computeIfAbsent(chunkPos, pos -> {
-            AetherChunkData data = new AetherChunkData(world, pos);
-            markDirty();
-            return data;
-        });
+    }
+
+    /**
+     * Keeps chunk data that was handed out without being stored once it is modified.
+     */
+    void attach(AetherChunkData data) {
+        chunkData.putIfAbsent(data.getChunkPos().toLong(), data);
+    }
+
+    /**
+     * Drops the data of an unloaded chunk if it can be rebuilt from the biome.
+     */
+    void evictIfReconstructible(ChunkPos chunkPos) {
+        long key = chunkPos.toLong();
+        AetherChunkData data = chunkData.get(key);
+        if (data != null && (data.isEmpty() || data.isReconstructible())) {
+            chunkData.remove(key);
+        }
     }
 
     public void markAsDeadZone(ChunkPos chunkPos, DeadZoneData data) {
-        chunkData.remove(chunkPos);
-        deadZones.put(chunkPos, data);
+        // The depleted aether is kept, a temporary dead zone recovers from it
+        deadZones.put(chunkPos.toLong(), data);
         markDirty();
     }
 
     public void removeDeadZone(ChunkPos chunkPos) {
-        deadZones.remove(chunkPos);
+        deadZones.remove(chunkPos.toLong());
+        markDirty();
+    }
+
+    AetherChunkData getChunkData(ChunkPos chunkPos, World world) {
+        bindWorld(world);
+        return chunkData.get(chunkPos.toLong());
+    }
+
+    void putChunkData(ChunkPos chunkPos, AetherChunkData data, World world) {
+        data.setWorld(world);
+        data.setOwner(this);
+        chunkData.put(chunkPos.toLong(), data);
+        markDirty();
+    }
+
+    void putDeadZone(ChunkPos chunkPos, DeadZoneData data) {
+        deadZones.put(chunkPos.toLong(), data);
         markDirty();
     }
 
+    boolean contains(ChunkPos chunkPos) {
+        return chunkData.containsKey(chunkPos.toLong()) || deadZones.containsKey(chunkPos.toLong());
+    }
+
+    void remove(ChunkPos chunkPos) {
+        boolean removed = chunkData.remove(chunkPos.toLong()) != null;
+        removed |= deadZones.remove(chunkPos.toLong()) != null;
+        if (removed) {
+            markDirty();
+        }
+    }
+
     public boolean isDeadZone(ChunkPos chunkPos) {
-        return deadZones.containsKey(chunkPos);
+        return deadZones.containsKey(chunkPos.toLong());
     }
 
     public DeadZoneData getDeadZoneData(ChunkPos chunkPos) {
-        return deadZones.get(chunkPos);
+        return deadZones.get(chunkPos.toLong());
     }
 
     public Collection<AetherChunkData> getAllChunkData() {
         return chunkData.values();
     }
 
+    /**
+     * Moves the entries of a state saved as a single file into the region shards they belong to.
+     */
+    static void splitIntoShards(AetherWorldState legacy, Function<ChunkPos, AetherWorldState> shards) {
+        for (Long2ObjectMap.Entry<AetherChunkData> entry : legacy.chunkData.long2ObjectEntrySet()) {
+            AetherWorldState shard = shards.apply(new ChunkPos(entry.getLongKey()));
+            entry.getValue().setOwner(shard);
+            shard.chunkData.put(entry.getLongKey(), entry.getValue());
+            shard.markDirty();
+        }
+        for (Long2ObjectMap.Entry<DeadZoneData> entry : legacy.deadZones.long2ObjectEntrySet()) {
+            AetherWorldState shard = shards.apply(new ChunkPos(entry.getLongKey()));
+            shard.deadZones.put(entry.getLongKey(), entry.getValue());
+            shard.markDirty();
+        }
+        legacy.chunkData.clear();
+        legacy.deadZones.clear();
+        legacy.markDirty();
+    }
+
     @Override
     public NbtCompound writeNbt(NbtCompound nbt) {
         // Save chunk data
         NbtList chunkDataList = new NbtList();
-        for (Map.Entry<ChunkPos, AetherChunkData> entry : chunkData.entrySet()) {
-            if (!entry.getValue().isEmpty()) { // Only save non-empty data
+        for (Long2ObjectMap.Entry<AetherChunkData> entry : chunkData.long2ObjectEntrySet()) {
+            AetherChunkData data = entry.getValue();
+            if (!data.isEmpty() && !data.isReconstructible()) { // Full, untouched chunks are rebuilt from the biome
                 NbtCompound chunkNbt = new NbtCompound();
-                chunkNbt.putLong("Pos", entry.getKey().toLong());
-                chunkNbt.put("Data", entry.getValue().toNbt());
+                chunkNbt.putLong("Pos", entry.getLongKey());
+                chunkNbt.put("Data", data.toNbt());
                 chunkDataList.add(chunkNbt);
             }
         }
@@ -75,9 +161,9 @@ public class AetherWorldState extends PersistentState {
 
         // Save dead zones
         NbtList deadZoneList = new NbtList();
-        for (Map.Entry<ChunkPos, DeadZoneData> entry : deadZones.entrySet()) {
+        for (Long2ObjectMap.Entry<DeadZoneData> entry : deadZones.long2ObjectEntrySet()) {
             NbtCompound deadZoneNbt = new NbtCompound();
-            deadZoneNbt.putLong("Pos", entry.getKey().toLong());
+            deadZoneNbt.putLong("Pos", entry.getLongKey());
             deadZoneNbt.put("DeadZoneData", entry.getValue().toNbt());
             deadZoneList.add(deadZoneNbt);
         }
@@ -95,8 +181,9 @@ public class AetherWorldState extends PersistentState {
             for (int i = 0; i < chunkDataList.size(); i++) {
                 NbtCompound chunkNbt = chunkDataList.getCompound(i);
                 ChunkPos pos = new ChunkPos(chunkNbt.getLong("Pos"));
-                AetherChunkData data = AetherChunkData.fromNbt(chunkNbt.getCompound("Data"));
-                state.chunkData.put(pos, data);
+                AetherChunkData data = AetherChunkData.fromNbt(pos, chunkNbt.getCompound("Data"));
+                data.setOwner(state);
+                state.chunkData.put(pos.toLong(), data);
             }
         }
 
@@ -105,7 +192,7 @@ public class AetherWorldState extends PersistentState {
             NbtList deadZoneList = nbt.getList("DeadZones", NbtElement.COMPOUND_TYPE);
             for (int i = 0; i < deadZoneList.size(); i++) {
                 NbtCompound deadZoneNbt = deadZoneList.getCompound(i);
-                ChunkPos pos = new ChunkPos(deadZoneNbt.getLong("Pos"));
+                long pos = deadZoneNbt.getLong("Pos");
                 DeadZoneData data = DeadZoneData.fromNbt(deadZoneNbt.getCompound("DeadZoneData"));
                 state.deadZones.put(pos, data);
             }
@@ -113,4 +200,4 @@ public class AetherWorldState extends PersistentState {
 
         return state;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,144 @@
+package dev.overgrown.aspectslib.aether;
+
+import dev.overgrown.aspectslib.data.AspectData;
+import dev.overgrown.aspectslib.data.BiomeAspectRegistry;
+import dev.overgrown.aspectslib.data.WorldContext;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMaps;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.Util;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.ChunkStatus;
+import net.minecraft.world.chunk.ReadableContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Aether capacity of a chunk derived from its biomes. Every 4x4x4 biome cell of every section counts once, so the
+ * capacity is the biome aspect density averaged over the whole chunk volume.
+ * <p>
+ * Capacities are computed off-thread when a chunk loads, so creating {@link AetherChunkData} for it later does not
+ * walk the biomes on the server thread.
+ * </p>
+ */
+final class BiomeAetherCapacity {
+    private static final int CHUNK_VOLUME = 16 * 16 * 256;
+    private static final int CELLS_PER_SECTION = 4 * 4 * 4;
+    private static final WorldContext.Key<Long2ObjectMap<CompletableFuture<BiomeAetherCapacity>>> PRECOMPUTED =
+            WorldContext.key(world -> new Long2ObjectOpenHashMap<>());
+
+    private final Identifier[] aspectIds;
+    private final int[] capacities;
+
+    private BiomeAetherCapacity(Identifier[] aspectIds, int[] capacities) {
+        this.aspectIds = aspectIds;
+        this.capacities = capacities;
+    }
+
+    Identifier[] getAspectIds() {
+        return aspectIds.clone();
+    }
+
+    int[] getCapacities() {
+        return capacities.clone();
+    }
+
+    /**
+     * Starts computing the capacity of a chunk that just loaded. The biome containers are copied here, the counting
+     * happens on a worker thread.
+     */
+    static void precompute(ServerWorld world, Chunk chunk) {
+        List<ReadableContainer<RegistryEntry<Biome>>> biomes = new ArrayList<>(chunk.getSectionArray().length);
+        for (ChunkSection section : chunk.getSectionArray()) {
+            biomes.add(section.getBiomeContainer().slice());
+        }
+        WorldContext.get(world, PRECOMPUTED).put(chunk.getPos().toLong(),
+                CompletableFuture.supplyAsync(() -> fromBiomes(biomes), Util.getMainWorkerExecutor()));
+    }
+
+    static void discard(ServerWorld world, ChunkPos chunkPos) {
+        CompletableFuture<BiomeAetherCapacity> future = WorldContext.get(world, PRECOMPUTED).remove(chunkPos.toLong());
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    static BiomeAetherCapacity get(World world, ChunkPos chunkPos) {
+        if (world instanceof ServerWorld serverWorld) {
+            CompletableFuture<BiomeAetherCapacity> future = WorldContext.get(serverWorld, PRECOMPUTED).get(chunkPos.toLong());
+            if (future != null && future.isDone() && !future.isCompletedExceptionally()) {
+                return future.join();
+            }
+        }
+
+        // Not precomputed yet, count the biomes now if the chunk has them
+        Chunk chunk = world.getChunk(chunkPos.x, chunkPos.z, ChunkStatus.BIOMES, false);
+        if (chunk != null) {
+            List<ReadableContainer<RegistryEntry<Biome>>> biomes = new ArrayList<>(chunk.getSectionArray().length);
+            for (ChunkSection section : chunk.getSectionArray()) {
+                biomes.add(section.getBiomeContainer());
+            }
+            return fromBiomes(biomes);
+        }
+        return sample(world, chunkPos);
+    }
+
+    private static BiomeAetherCapacity fromBiomes(List<ReadableContainer<RegistryEntry<Biome>>> biomes) {
+        Object2IntOpenHashMap<RegistryEntry<Biome>> cells = new Object2IntOpenHashMap<>();
+        for (ReadableContainer<RegistryEntry<Biome>> container : biomes) {
+            container.count(cells::addTo);
+        }
+        return fromCells(cells, biomes.size() * CELLS_PER_SECTION);
+    }
+
+    /**
+     * Fallback for chunks without biomes yet, samples a 3x3 grid at sea level.
+     */
+    private static BiomeAetherCapacity sample(World world, ChunkPos chunkPos) {
+        Object2IntOpenHashMap<RegistryEntry<Biome>> cells = new Object2IntOpenHashMap<>();
+        for (int x = 4; x <= 12; x += 4) {
+            for (int z = 4; z <= 12; z += 4) {
+                cells.addTo(world.getBiome(new BlockPos(chunkPos.getStartX() + x, 64, chunkPos.getStartZ() + z)), 1);
+            }
+        }
+        return fromCells(cells, 9);
+    }
+
+    private static BiomeAetherCapacity fromCells(Object2IntMap<RegistryEntry<Biome>> cells, int totalCells) {
+        Object2LongOpenHashMap<Identifier> totals = new Object2LongOpenHashMap<>();
+        for (Object2IntMap.Entry<RegistryEntry<Biome>> cell : Object2IntMaps.fastIterable(cells)) {
+            cell.getKey().getKey().ifPresent(biomeKey -> {
+                AspectData biomeAspects = BiomeAspectRegistry.get(biomeKey);
+                for (Object2IntMap.Entry<Identifier> entry : Object2IntMaps.fastIterable(biomeAspects.getMap())) {
+                    totals.addTo(entry.getKey(), (long) entry.getIntValue() * cell.getIntValue());
+                }
+            });
+        }
+
+        Identifier[] aspectIds = new Identifier[totals.size()];
+        int[] capacities = new int[aspectIds.length];
+        int index = 0;
+        for (Object2LongMap.Entry<Identifier> entry : Object2LongMaps.fastIterable(totals)) {
+            int averageDensity = (int) (entry.getLongValue() / Math.max(totalCells, 1));
+            aspectIds[index] = entry.getKey();
+            capacities[index] = averageDensity * CHUNK_VOLUME; // RU/m³ * chunk volume
+            index++;
+        }
+        return new BiomeAetherCapacity(aspectIds, capacities);
+    }
+}
@@ -0,0 +1,55 @@
+package dev.overgrown.aspectslib.aether;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aether data the client builds from biomes, kept per dimension and keyed by packed chunk position.
+ * Each dimension holds at most {@link #MAX_ENTRIES_PER_DIMENSION} chunks, dropping the least recently used one
+ * when full, and entries are removed as soon as the client unloads their chunk.
+ */
+final class ClientAetherCache {
+    private static final int MAX_ENTRIES_PER_DIMENSION = 4096;
+
+    private final Map<RegistryKey<World>, Long2ObjectLinkedOpenHashMap<AetherChunkData>> dimensions = new HashMap<>();
+
+    synchronized AetherChunkData getOrCreate(World world, ChunkPos chunkPos) {
+        Long2ObjectLinkedOpenHashMap<AetherChunkData> chunks =
+                dimensions.computeIfAbsent(world.getRegistryKey(), key -> new Long2ObjectLinkedOpenHashMap<>());
+
+        long key = chunkPos.toLong();
+        AetherChunkData data = chunks.getAndMoveToLast(key);
+        if (data == null) {
+            data = new AetherChunkData(world, chunkPos);
+            chunks.putAndMoveToLast(key, data);
+            if (chunks.size() > MAX_ENTRIES_PER_DIMENSION) {
+                chunks.removeFirst();
+            }
+        }
+        return data;
+    }
+
+    synchronized void remove(World world, ChunkPos chunkPos) {
+        Long2ObjectLinkedOpenHashMap<AetherChunkData> chunks = dimensions.get(world.getRegistryKey());
+        if (chunks != null) {
+            chunks.remove(chunkPos.toLong());
+        }
+    }
+
+    synchronized Collection<AetherChunkData> getAll(World world) {
+        Long2ObjectLinkedOpenHashMap<AetherChunkData> chunks = dimensions.get(world.getRegistryKey());
+        return chunks != null ? new ArrayList<>(chunks.values()) : List.of();
+    }
+
+    synchronized void clear() {
+        dimensions.clear();
+    }
+}
@@ -5,6 +5,8 @@ import net.minecraft.nbt.NbtCompound;
 public class DeadZoneData {
     private final boolean permanent;
     private final long creationTime;
+    // Not saved, recovery is rescheduled from the chunk's aether after loading
+    private long scheduledRecoveryTime = -1;
 
     public DeadZoneData(boolean permanent, long creationTime) {
         this.permanent = permanent;
@@ -19,6 +21,14 @@ public class DeadZoneData {
         return creationTime;
     }
 
+    long getScheduledRecoveryTime() {
+        return scheduledRecoveryTime;
+    }
+
+    void setScheduledRecoveryTime(long scheduledRecoveryTime) {
+        this.scheduledRecoveryTime = scheduledRecoveryTime;
+    }
+
     public NbtCompound toNbt() {
         NbtCompound nbt = new NbtCompound();
         nbt.putBoolean("Permanent", permanent);
@@ -0,0 +1,54 @@
+package dev.overgrown.aspectslib.aether;
+
+import dev.overgrown.aspectslib.data.WorldContext;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkPos;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Temporary dead zones ordered by the world time at which they are expected to have recovered,
+ * so only dead zones that are due get looked at instead of every chunk on a fixed interval.
+ * At most {@link #MAX_CHECKS_PER_TICK} dead zones are checked per tick, the rest stay due and go first next tick.
+ */
+class DeadZoneRecoveryQueue {
+    private static final int MAX_CHECKS_PER_TICK = 32;
+
+    private record Entry(long chunkPos, long dueTime) {
+    }
+
+    private final WorldContext.Key<PriorityQueue<Entry>> queues =
+            WorldContext.key(world -> new PriorityQueue<>(Comparator.comparingLong(Entry::dueTime)));
+
+    void schedule(ServerWorld world, ChunkPos chunkPos, DeadZoneData data, long dueTime) {
+        data.setScheduledRecoveryTime(dueTime);
+        if (dueTime == Long.MAX_VALUE) {
+            return;
+        }
+        WorldContext.get(world, queues).add(new Entry(chunkPos.toLong(), dueTime));
+    }
+
+    void tick(MinecraftServer server) {
+        int budget = MAX_CHECKS_PER_TICK;
+        for (ServerWorld world : server.getWorlds()) {
+            PriorityQueue<Entry> queue = WorldContext.get(world, queues);
+            long time = world.getTime();
+            while (budget > 0 && !queue.isEmpty() && queue.peek().dueTime() <= time) {
+                Entry entry = queue.poll();
+                ChunkPos chunkPos = new ChunkPos(entry.chunkPos());
+                DeadZoneData data = AetherManager.getDeadZoneData(world, chunkPos);
+                // Skip entries for dead zones that were lifted or rescheduled in the meantime
+                if (data != null && !data.isPermanent() && data.getScheduledRecoveryTime() == entry.dueTime()) {
+                    AetherManager.checkDeadZoneRecovery(world, chunkPos, data);
+                    budget--;
+                }
+            }
+        }
+    }
+
+    void clear(ServerWorld world) {
+        WorldContext.get(world).remove(queues);
+    }
+}
@@ -0,0 +1,9 @@
+package dev.overgrown.aspectslib.api;
+
+import net.minecraft.nbt.NbtCompound;
+
+public interface IChunkAttachmentHolder {
+    NbtCompound aspectslib$getPendingAttachments();
+
+    void aspectslib$setPendingAttachments(NbtCompound nbt);
+}
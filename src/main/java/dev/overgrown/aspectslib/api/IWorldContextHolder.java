@@ -0,0 +1,7 @@
+package dev.overgrown.aspectslib.api;
+
+import dev.overgrown.aspectslib.data.WorldContext;
+
+public interface IWorldContextHolder {
+    WorldContext aspectslib$getWorldContext();
+}
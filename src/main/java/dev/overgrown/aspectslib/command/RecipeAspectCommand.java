@@ -9,6 +9,8 @@ import net.minecraft.server.command.CommandManager;
 import net.minecraft.server.command.ServerCommandSource;
 import net.minecraft.text.Text;
 
+import java.nio.file.Path;
+
 public class RecipeAspectCommand {
     
     public static void register(CommandDispatcher<ServerCommandSource> dispatcher, CommandRegistryAccess registryAccess) {
@@ -17,6 +19,8 @@ public class RecipeAspectCommand {
             .then(CommandManager.literal("recipe")
                 .then(CommandManager.literal("recalculate")
                     .executes(RecipeAspectCommand::recalculate))
+                .then(CommandManager.literal("export")
+                    .executes(RecipeAspectCommand::export))
                 .then(CommandManager.literal("enable")
                     .then(CommandManager.argument("enabled", BoolArgumentType.bool())
                         .executes(RecipeAspectCommand::setEnabled)))
@@ -36,6 +40,26 @@ public class RecipeAspectCommand {
         return 1;
     }
     
+    private static int export(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        Path path = RecipeAspectManager.GRAPH_EXPORT_PATH;
+
+        source.sendFeedback(() -> Text.literal("Exporting recipe graph..."), false);
+
+        RecipeAspectManager.getInstance().exportGraph(path).whenComplete((nodes, error) ->
+            source.getServer().execute(() -> {
+                if (error != null) {
+                    Throwable cause = error.getCause() != null ? error.getCause() : error;
+                    source.sendError(Text.literal("Failed to export recipe graph: " + cause.getMessage()));
+                } else {
+                    source.sendFeedback(() -> Text.literal("Exported " + nodes + " recipe graph nodes to " +
+                        path.toAbsolutePath()), true);
+                }
+            }));
+        
+        return 1;
+    }
+    
     private static int setEnabled(CommandContext<ServerCommandSource> context) {
         ServerCommandSource source = context.getSource();
         boolean enabled = BoolArgumentType.getBool(context, "enabled");
@@ -31,7 +31,7 @@ public class BiomeRegionDetector {
                     continue;
                 }
                 
-                if (!world.getChunkManager().isChunkLoaded(neighbor.x, neighbor.z)) {
+                if (!world.isChunkLoaded(neighbor.x, neighbor.z)) {
                     continue;
                 }
                 
@@ -56,7 +56,7 @@ public class BiomeRegionDetector {
         );
     }
     
-    private static Identifier getBiomeIdForChunk(ServerWorld world, ChunkPos chunkPos) {
+    public static Identifier getBiomeIdForChunk(ServerWorld world, ChunkPos chunkPos) {
         BlockPos centerPos = chunkPos.getStartPos().add(8, 64, 8);
         Biome biome = world.getBiome(centerPos).value();
         return world.getRegistryManager()
@@ -0,0 +1,276 @@
+package dev.overgrown.aspectslib.corruption;
+
+import dev.overgrown.aspectslib.data.WorldContext;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.ChunkPos;
+
+import java.util.*;
+
+/**
+ * Index of connected same-biome regions over the loaded chunks of a world.
+ * <p>
+ * Regions are merged incrementally as chunks load (the smaller region is folded into the larger one)
+ * and are only re-checked for splits lazily, the next time they are queried after one of their chunks
+ * unloaded. This replaces the flood fill {@link BiomeRegionDetector} used to do on every corruption check.
+ * </p>
+ */
+public class BiomeRegionIndex {
+    private static final WorldContext.Key<BiomeRegionIndex> INDEX = WorldContext.key(BiomeRegionIndex::new);
+
+    private final ServerWorld world;
+    private final Long2ObjectMap<Region> chunkRegions = new Long2ObjectOpenHashMap<>();
+    private final Int2ObjectMap<Region> regions = new Int2ObjectOpenHashMap<>();
+    private final Set<Region> pendingSplitChecks = new HashSet<>();
+    private int nextRegionId;
+
+    private BiomeRegionIndex(ServerWorld world) {
+        this.world = world;
+    }
+
+    public static final class Region {
+        private final int id;
+        private final Identifier biomeId;
+        private final LongOpenHashSet chunks = new LongOpenHashSet();
+        private long representative;
+        int poolId = -1;
+        int detachedPoolId = -1;
+
+        private Region(int id, Identifier biomeId) {
+            this.id = id;
+            this.biomeId = biomeId;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public Identifier getBiomeId() {
+            return biomeId;
+        }
+
+        public LongSet getChunks() {
+            return LongSets.unmodifiable(chunks);
+        }
+
+        public int size() {
+            return chunks.size();
+        }
+
+        public boolean contains(long chunkPos) {
+            return chunks.contains(chunkPos);
+        }
+
+        /**
+         * @return a chunk that stays the same for as long as it belongs to this region
+         */
+        public ChunkPos getRepresentative() {
+            return new ChunkPos(representative);
+        }
+
+        public ChunkPos getRandomChunk(Random random) {
+            int skip = random.nextInt(chunks.size());
+            LongIterator iterator = chunks.iterator();
+            while (skip-- > 0) {
+                iterator.nextLong();
+            }
+            return new ChunkPos(iterator.nextLong());
+        }
+
+        public List<ChunkPos> toChunkPositions() {
+            List<ChunkPos> positions = new ArrayList<>(chunks.size());
+            LongIterator iterator = chunks.iterator();
+            while (iterator.hasNext()) {
+                positions.add(new ChunkPos(iterator.nextLong()));
+            }
+            return positions;
+        }
+    }
+
+    public static void initialize() {
+        ServerChunkEvents.CHUNK_LOAD.register((world, chunk) -> get(world).onChunkLoad(chunk.getPos()));
+        ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> get(world).onChunkUnload(chunk.getPos().toLong()));
+    }
+
+    public static BiomeRegionIndex get(ServerWorld world) {
+        return WorldContext.get(world, INDEX);
+    }
+
+    /**
+     * @return the region containing the chunk, or {@code null} if the chunk is not loaded
+     */
+    public Region getRegion(ChunkPos chunkPos) {
+        Region region = chunkRegions.get(chunkPos.toLong());
+        if (region != null && pendingSplitChecks.contains(region)) {
+            resolveSplits();
+            region = chunkRegions.get(chunkPos.toLong());
+        }
+        return region;
+    }
+
+    /**
+     * @return whether the region still exists, i.e. it has not been merged into another one or fully unloaded
+     */
+    public boolean isActive(Region region) {
+        resolveSplits();
+        return regions.get(region.id) == region;
+    }
+
+    public Collection<Region> getRegions() {
+        resolveSplits();
+        return Collections.unmodifiableCollection(regions.values());
+    }
+
+    private void onChunkLoad(ChunkPos chunkPos) {
+        long key = chunkPos.toLong();
+        if (chunkRegions.containsKey(key)) {
+            return;
+        }
+
+        Identifier biomeId = BiomeRegionDetector.getBiomeIdForChunk(world, chunkPos);
+        if (biomeId == null) {
+            return;
+        }
+
+        Region target = null;
+        for (long neighbor : neighbors(chunkPos.x, chunkPos.z)) {
+            Region region = chunkRegions.get(neighbor);
+            if (region == null || region == target || !region.biomeId.equals(biomeId)) {
+                continue;
+            }
+            target = target == null ? region : merge(target, region);
+        }
+
+        if (target == null) {
+            target = new Region(nextRegionId++, biomeId);
+            target.representative = key;
+            regions.put(target.id, target);
+        }
+
+        target.chunks.add(key);
+        chunkRegions.put(key, target);
+        CorruptionDataManager.getChunkAspectStorage(world).onChunkJoined(target, key);
+    }
+
+    private void onChunkUnload(long chunkPos) {
+        Region region = chunkRegions.remove(chunkPos);
+        if (region == null) {
+            return;
+        }
+
+        region.chunks.remove(chunkPos);
+        CorruptionDataManager.getChunkAspectStorage(world).onChunkLeft(region, chunkPos);
+        if (region.chunks.isEmpty()) {
+            regions.remove(region.id);
+            pendingSplitChecks.remove(region);
+            return;
+        }
+
+        if (region.representative == chunkPos) {
+            region.representative = region.chunks.iterator().nextLong();
+        }
+        pendingSplitChecks.add(region);
+    }
+
+    private Region merge(Region a, Region b) {
+        Region larger = a.chunks.size() >= b.chunks.size() ? a : b;
+        Region smaller = larger == a ? b : a;
+
+        LongIterator iterator = smaller.chunks.iterator();
+        while (iterator.hasNext()) {
+            long chunk = iterator.nextLong();
+            larger.chunks.add(chunk);
+            chunkRegions.put(chunk, larger);
+        }
+
+        regions.remove(smaller.id);
+        if (pendingSplitChecks.remove(smaller)) {
+            pendingSplitChecks.add(larger);
+        }
+        CorruptionDataManager.getChunkAspectStorage(world).onRegionsMerged(larger, smaller.poolId);
+        return larger;
+    }
+
+    private void resolveSplits() {
+        if (pendingSplitChecks.isEmpty()) {
+            return;
+        }
+
+        List<Region> pending = new ArrayList<>(pendingSplitChecks);
+        pendingSplitChecks.clear();
+        for (Region region : pending) {
+            splitIfDisconnected(region);
+        }
+    }
+
+    private void splitIfDisconnected(Region region) {
+        List<LongOpenHashSet> components = new ArrayList<>();
+        LongOpenHashSet unvisited = new LongOpenHashSet(region.chunks);
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+
+        while (!unvisited.isEmpty()) {
+            long start = unvisited.iterator().nextLong();
+            unvisited.remove(start);
+            queue.enqueue(start);
+
+            LongOpenHashSet component = new LongOpenHashSet();
+            component.add(start);
+            while (!queue.isEmpty()) {
+                long current = queue.dequeueLong();
+                for (long neighbor : neighbors(ChunkPos.getPackedX(current), ChunkPos.getPackedZ(current))) {
+                    if (unvisited.remove(neighbor)) {
+                        component.add(neighbor);
+                        queue.enqueue(neighbor);
+                    }
+                }
+            }
+
+            // Most unloads leave the region connected, stop before copying anything
+            if (components.isEmpty() && component.size() == region.chunks.size()) {
+                return;
+            }
+            components.add(component);
+        }
+
+        // The largest component keeps the region id, the rest become new regions
+        components.sort(Comparator.comparingInt(LongOpenHashSet::size).reversed());
+        for (int i = 1; i < components.size(); i++) {
+            LongOpenHashSet component = components.get(i);
+            Region split = new Region(nextRegionId++, region.biomeId);
+            split.chunks.addAll(component);
+            split.representative = component.contains(region.representative)
+                    ? region.representative : component.iterator().nextLong();
+            regions.put(split.id, split);
+
+            region.chunks.removeAll(component);
+            LongIterator iterator = component.iterator();
+            while (iterator.hasNext()) {
+                chunkRegions.put(iterator.nextLong(), split);
+            }
+            CorruptionDataManager.getChunkAspectStorage(world).onRegionSplit(region, split);
+        }
+
+        if (!region.chunks.contains(region.representative)) {
+            region.representative = region.chunks.iterator().nextLong();
+        }
+    }
+
+    private static long[] neighbors(int x, int z) {
+        return new long[]{
+                ChunkPos.toLong(x + 1, z),
+                ChunkPos.toLong(x - 1, z),
+                ChunkPos.toLong(x, z + 1),
+                ChunkPos.toLong(x, z - 1)
+        };
+    }
+}
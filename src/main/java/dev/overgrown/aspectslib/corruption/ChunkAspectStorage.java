@@ -2,117 +2,339 @@ package dev.overgrown.aspectslib.corruption;
 
 import dev.overgrown.aspectslib.data.AspectData;
 import dev.overgrown.aspectslib.data.BiomeAspectRegistry;
-import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
-import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtElement;
 import net.minecraft.nbt.NbtList;
+import net.minecraft.network.PacketByteBuf;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.PersistentState;
 
+/**
+ * Stores modified aspects as shared pools, one per biome region, with every chunk referencing the pool of the
+ * region it was last part of. Chunks without a pool use their biome's default aspects.
+ * <p>
+ * Pools follow the regions of {@link BiomeRegionIndex}: when two regions with different pools are joined the pool
+ * referenced by more chunks wins, when a region splits the split-off part gets a copy of the pool, and a change to a
+ * single chunk copies the pool first if other chunks still share it. A region only adopts a pool that no chunk
+ * outside of it references, otherwise it adopts a copy. Chunks that unload move off the region's pool onto a copy,
+ * so later region changes never reach chunks outside the region.
+ * </p>
+ */
 public class ChunkAspectStorage extends PersistentState {
-    private final Long2ObjectMap<AspectData> chunkAspects = new Long2ObjectOpenHashMap<>();
+    private static final int NO_POOL = -1;
 
-    public AspectData getChunkAspects(ChunkPos chunkPos, Identifier biomeId) {
-        long key = chunkPos.toLong();
-        AspectData stored = chunkAspects.get(key);
-        
-        if (stored != null) {
-            return stored;
+    private final Int2ObjectMap<Pool> pools = new Int2ObjectOpenHashMap<>();
+    private final Long2IntMap chunkPools = new Long2IntOpenHashMap();
+    private int nextPoolId;
+
+    public ChunkAspectStorage() {
+        chunkPools.defaultReturnValue(NO_POOL);
+    }
+
+    private static final class Pool {
+        private final Object2IntOpenHashMap<Identifier> aspects;
+        private AspectData snapshot;
+        private int references;
+
+        private Pool(Object2IntOpenHashMap<Identifier> aspects) {
+            this.aspects = aspects;
+        }
+
+        private AspectData snapshot() {
+            if (snapshot == null) {
+                snapshot = new AspectData(new Object2IntOpenHashMap<>(aspects));
+            }
+            return snapshot;
+        }
+
+        private void add(Identifier aspectId, int delta) {
+            int newLevel = aspects.getInt(aspectId) + delta;
+            if (newLevel <= 0) {
+                aspects.removeInt(aspectId);
+            } else {
+                aspects.put(aspectId, newLevel);
+            }
+            snapshot = null;
         }
-        
-        return BiomeAspectRegistry.get(biomeId);
+    }
+
+    public AspectData getChunkAspects(ChunkPos chunkPos, Identifier biomeId) {
+        Pool pool = pools.get(chunkPools.get(chunkPos.toLong()));
+        return pool != null ? pool.snapshot() : BiomeAspectRegistry.get(biomeId);
+    }
+
+    public AspectData getRegionAspects(BiomeRegionIndex.Region region) {
+        Pool pool = pools.get(region.poolId);
+        return pool != null ? pool.snapshot() : BiomeAspectRegistry.get(region.getBiomeId());
     }
 
     public void setChunkAspects(ChunkPos chunkPos, AspectData aspects) {
-        chunkAspects.put(chunkPos.toLong(), aspects);
-        markDirty();
+        assign(chunkPos.toLong(), createPool(new Object2IntOpenHashMap<>(aspects.getMap())));
     }
 
+    /**
+     * Changes a single chunk, copying its pool first if other chunks share it.
+     */
     public void modifyChunkAspect(ChunkPos chunkPos, Identifier biomeId, Identifier aspectId, int delta) {
         if (delta == 0) return;
-        
+
         long key = chunkPos.toLong();
-        AspectData current = chunkAspects.get(key);
-        
-        if (current == null) {
-            current = BiomeAspectRegistry.get(biomeId);
-        }
-        
-        AspectData.Builder builder = new AspectData.Builder(current);
-        builder.add(aspectId, delta);
-        
-        chunkAspects.put(key, builder.build());
+        int poolId = chunkPools.get(key);
+        Pool pool = pools.get(poolId);
+
+        if (pool == null) {
+            poolId = createPool(new Object2IntOpenHashMap<>(BiomeAspectRegistry.get(biomeId).getMap()));
+            assign(key, poolId);
+        } else if (pool.references > 1) {
+            poolId = createPool(new Object2IntOpenHashMap<>(pool.aspects));
+            assign(key, poolId);
+        }
+
+        pools.get(poolId).add(aspectId, delta);
+        markDirty();
+    }
+
+    /**
+     * Changes the pool shared by a whole region. Only the first change to a region touches its chunks.
+     */
+    public void modifyRegionAspect(BiomeRegionIndex.Region region, Identifier aspectId, int delta) {
+        if (delta == 0) return;
+
+        if (pools.get(region.poolId) == null) {
+            int poolId = createPool(new Object2IntOpenHashMap<>(BiomeAspectRegistry.get(region.getBiomeId()).getMap()));
+            assignRegion(region, poolId);
+        }
+
+        pools.get(region.poolId).add(aspectId, delta);
+        // Chunks that leave from now on no longer match the copy made for earlier ones
+        region.detachedPoolId = NO_POOL;
         markDirty();
     }
 
     public void removeChunkAspects(ChunkPos chunkPos) {
-        if (chunkAspects.remove(chunkPos.toLong()) != null) {
-            markDirty();
+        assign(chunkPos.toLong(), NO_POOL);
+    }
+
+    public int getPoolCount() {
+        return pools.size();
+    }
+
+    void onChunkJoined(BiomeRegionIndex.Region region, long chunkPos) {
+        int chunkPool = chunkPools.get(chunkPos);
+        if (chunkPool == region.poolId) {
+            return;
+        }
+
+        if (region.poolId == NO_POOL) {
+            // The region had only default aspects so far, adopt the saved pool of the new chunk
+            adoptPool(region, chunkPool);
+        } else if (chunkPool == NO_POOL || references(region.poolId) >= references(chunkPool)) {
+            assign(chunkPos, region.poolId);
+        } else {
+            adoptPool(region, chunkPool);
+        }
+    }
+
+    /**
+     * Moves a chunk that left its region onto a copy of the region's pool. Chunks leaving between two region changes
+     * share one copy.
+     */
+    void onChunkLeft(BiomeRegionIndex.Region region, long chunkPos) {
+        int poolId = chunkPools.get(chunkPos);
+        if (poolId == NO_POOL || poolId != region.poolId || references(poolId) <= 1) {
+            return;
+        }
+
+        if (pools.get(region.detachedPoolId) == null) {
+            region.detachedPoolId = createPool(new Object2IntOpenHashMap<>(pools.get(poolId).aspects));
+        }
+        assign(chunkPos, region.detachedPoolId);
+    }
+
+    void onRegionsMerged(BiomeRegionIndex.Region merged, int otherPoolId) {
+        if (otherPoolId == NO_POOL || otherPoolId == merged.poolId) {
+            return;
+        }
+        if (merged.poolId == NO_POOL || references(otherPoolId) > references(merged.poolId)) {
+            adoptPool(merged, otherPoolId);
+        } else {
+            adoptPool(merged, merged.poolId);
+        }
+    }
+
+    void onRegionSplit(BiomeRegionIndex.Region original, BiomeRegionIndex.Region split) {
+        Pool pool = pools.get(original.poolId);
+        if (pool != null) {
+            assignRegion(split, createPool(new Object2IntOpenHashMap<>(pool.aspects)));
+        }
+    }
+
+    private int references(int poolId) {
+        Pool pool = pools.get(poolId);
+        return pool != null ? pool.references : 0;
+    }
+
+    private int createPool(Object2IntOpenHashMap<Identifier> aspects) {
+        int poolId = nextPoolId++;
+        pools.put(poolId, new Pool(aspects));
+        return poolId;
+    }
+
+    /**
+     * Makes a region use a pool, copying the pool first if chunks outside the region still reference it. Region
+     * changes modify the pool in place, so a pool shared beyond its region would leak them into other chunks.
+     */
+    private void adoptPool(BiomeRegionIndex.Region region, int poolId) {
+        Pool pool = pools.get(poolId);
+        if (pool != null) {
+            int referencesInRegion = 0;
+            LongIterator iterator = region.getChunks().iterator();
+            while (iterator.hasNext()) {
+                if (chunkPools.get(iterator.nextLong()) == poolId) {
+                    referencesInRegion++;
+                }
+            }
+            if (referencesInRegion < pool.references) {
+                poolId = createPool(new Object2IntOpenHashMap<>(pool.aspects));
+            }
         }
+        assignRegion(region, poolId);
+    }
+
+    private void assignRegion(BiomeRegionIndex.Region region, int poolId) {
+        region.poolId = poolId;
+        region.detachedPoolId = NO_POOL;
+        LongIterator iterator = region.getChunks().iterator();
+        while (iterator.hasNext()) {
+            assign(iterator.nextLong(), poolId);
+        }
+    }
+
+    private void assign(long chunkPos, int poolId) {
+        int previous = poolId == NO_POOL ? chunkPools.remove(chunkPos) : chunkPools.put(chunkPos, poolId);
+        if (previous == poolId) {
+            return;
+        }
+
+        Pool oldPool = pools.get(previous);
+        if (oldPool != null && --oldPool.references <= 0) {
+            pools.remove(previous);
+        }
+        Pool newPool = pools.get(poolId);
+        if (newPool != null) {
+            newPool.references++;
+        }
+        markDirty();
     }
 
     @Override
     public NbtCompound writeNbt(NbtCompound nbt) {
-        NbtList chunkList = new NbtList();
-        
-        for (Long2ObjectMap.Entry<AspectData> entry : chunkAspects.long2ObjectEntrySet()) {
-            NbtCompound chunkNbt = new NbtCompound();
-            chunkNbt.putLong("Pos", entry.getLongKey());
-            
-            AspectData aspects = entry.getValue();
-            NbtList aspectList = new NbtList();
-            for (Identifier aspectId : aspects.getAspectIds()) {
-                int amount = aspects.getLevel(aspectId);
-                if (amount > 0) {
-                    NbtCompound aspectNbt = new NbtCompound();
-                    aspectNbt.putString("Id", aspectId.toString());
-                    aspectNbt.putInt("Amount", amount);
-                    aspectList.add(aspectNbt);
-                }
+        CorruptionCodec.Palette palette = new CorruptionCodec.Palette();
+        PacketByteBuf buf = CorruptionCodec.newBuffer();
+
+        buf.writeVarInt(pools.size());
+        for (Int2ObjectMap.Entry<Pool> entry : pools.int2ObjectEntrySet()) {
+            Object2IntOpenHashMap<Identifier> aspects = entry.getValue().aspects;
+            buf.writeVarInt(entry.getIntKey());
+            buf.writeVarInt(aspects.size());
+            for (Object2IntMap.Entry<Identifier> aspect : aspects.object2IntEntrySet()) {
+                buf.writeVarInt(palette.indexOf(aspect.getKey()));
+                buf.writeVarInt(aspect.getIntValue());
             }
-            chunkNbt.put("Aspects", aspectList);
-            chunkList.add(chunkNbt);
         }
-        
-        nbt.put("Chunks", chunkList);
+
+        long[] positions = chunkPools.keySet().toLongArray();
+        buf.writeVarInt(positions.length);
+        for (long pos : positions) CorruptionCodec.writeSignedVarInt(buf, ChunkPos.getPackedX(pos));
+        for (long pos : positions) CorruptionCodec.writeSignedVarInt(buf, ChunkPos.getPackedZ(pos));
+        for (long pos : positions) buf.writeVarInt(chunkPools.get(pos));
+
+        nbt.putInt("Format", CorruptionCodec.FORMAT_VERSION);
+        nbt.putByteArray("Data", CorruptionCodec.assemble(palette, buf));
         return nbt;
     }
 
     public static ChunkAspectStorage fromNbt(NbtCompound nbt) {
         ChunkAspectStorage storage = new ChunkAspectStorage();
-        
-        if (nbt.contains("Chunks", NbtElement.LIST_TYPE)) {
+
+        if (nbt.contains("Data", NbtElement.BYTE_ARRAY_TYPE)) {
+            PacketByteBuf buf = CorruptionCodec.wrap(nbt.getByteArray("Data"));
+            buf.readVarInt(); // format version
+            CorruptionCodec.Palette palette = CorruptionCodec.Palette.read(buf);
+
+            int poolCount = buf.readVarInt();
+            for (int i = 0; i < poolCount; i++) {
+                int poolId = buf.readVarInt();
+                int aspectCount = buf.readVarInt();
+                Object2IntOpenHashMap<Identifier> aspects = new Object2IntOpenHashMap<>(aspectCount);
+                for (int j = 0; j < aspectCount; j++) {
+                    Identifier aspectId = palette.get(buf.readVarInt());
+                    int amount = buf.readVarInt();
+                    if (aspectId != null && amount > 0) {
+                        aspects.put(aspectId, amount);
+                    }
+                }
+                storage.pools.put(poolId, new Pool(aspects));
+                storage.nextPoolId = Math.max(storage.nextPoolId, poolId + 1);
+            }
+
+            int chunkCount = buf.readVarInt();
+            int[] xs = new int[chunkCount];
+            int[] zs = new int[chunkCount];
+            for (int i = 0; i < chunkCount; i++) xs[i] = CorruptionCodec.readSignedVarInt(buf);
+            for (int i = 0; i < chunkCount; i++) zs[i] = CorruptionCodec.readSignedVarInt(buf);
+            for (int i = 0; i < chunkCount; i++) storage.assign(ChunkPos.toLong(xs[i], zs[i]), buf.readVarInt());
+            buf.release();
+        } else if (nbt.contains("Pools", NbtElement.LIST_TYPE)) {
+            NbtList poolList = nbt.getList("Pools", NbtElement.COMPOUND_TYPE);
+            for (int i = 0; i < poolList.size(); i++) {
+                NbtCompound poolNbt = poolList.getCompound(i);
+                int poolId = poolNbt.getInt("Id");
+                storage.pools.put(poolId, new Pool(readAspects(poolNbt.getList("Aspects", NbtElement.COMPOUND_TYPE))));
+                storage.nextPoolId = Math.max(storage.nextPoolId, poolId + 1);
+            }
+
+            long[] positions = nbt.getLongArray("ChunkPositions");
+            int[] poolIds = nbt.getIntArray("ChunkPools");
+            for (int i = 0; i < Math.min(positions.length, poolIds.length); i++) {
+                storage.assign(positions[i], poolIds[i]);
+            }
+        } else if (nbt.contains("Chunks", NbtElement.LIST_TYPE)) {
+            // Older saves stored a full copy per chunk, every chunk gets its own pool until regions join them
             NbtList chunkList = nbt.getList("Chunks", NbtElement.COMPOUND_TYPE);
-            
+
             for (int i = 0; i < chunkList.size(); i++) {
                 NbtCompound chunkNbt = chunkList.getCompound(i);
-                long pos = chunkNbt.getLong("Pos");
-                
-                Object2IntOpenHashMap<Identifier> aspectMap = new Object2IntOpenHashMap<>();
-                
-                if (chunkNbt.contains("Aspects", NbtElement.LIST_TYPE)) {
-                    NbtList aspectList = chunkNbt.getList("Aspects", NbtElement.COMPOUND_TYPE);
-                    
-                    for (int j = 0; j < aspectList.size(); j++) {
-                        NbtCompound aspectNbt = aspectList.getCompound(j);
-                        Identifier aspectId = Identifier.tryParse(aspectNbt.getString("Id"));
-                        int amount = aspectNbt.getInt("Amount");
-                        
-                        if (aspectId != null && amount > 0) {
-                            aspectMap.put(aspectId, amount);
-                        }
-                    }
-                }
-                
+                Object2IntOpenHashMap<Identifier> aspectMap = readAspects(chunkNbt.getList("Aspects", NbtElement.COMPOUND_TYPE));
+
                 if (!aspectMap.isEmpty()) {
-                    storage.chunkAspects.put(pos, new AspectData(aspectMap));
+                    storage.assign(chunkNbt.getLong("Pos"), storage.createPool(aspectMap));
                 }
             }
         }
-        
+
         return storage;
     }
+
+    private static Object2IntOpenHashMap<Identifier> readAspects(NbtList aspectList) {
+        Object2IntOpenHashMap<Identifier> aspectMap = new Object2IntOpenHashMap<>();
+        for (int j = 0; j < aspectList.size(); j++) {
+            NbtCompound aspectNbt = aspectList.getCompound(j);
+            Identifier aspectId = Identifier.tryParse(aspectNbt.getString("Id"));
+            int amount = aspectNbt.getInt("Amount");
+
+            if (aspectId != null && amount > 0) {
+                aspectMap.put(aspectId, amount);
+            }
+        }
+        return aspectMap;
+    }
 }
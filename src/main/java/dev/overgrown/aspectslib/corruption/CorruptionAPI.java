@@ -9,7 +9,6 @@ import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.biome.Biome;
 
 import java.util.Collection;
-import java.util.Set;
 
 public class CorruptionAPI {
 
@@ -53,11 +52,8 @@ public class CorruptionAPI {
             return;
         }
 
-        // Find the connected region
-        Set<ChunkPos> region = BiomeRegionDetector.findConnectedBiomeChunks(world, chunkPos, biomeId, 32);
-
         Identifier vitiumId = AspectsLib.identifier("vitium");
-        CorruptionDataManager.modifyRegionAspects(world, region, biomeId, vitiumId, vitiumAmount);
+        modifyRegion(world, chunkPos, biomeId, vitiumId, vitiumAmount);
 
         AspectsLib.LOGGER.info("Forced corruption on chunk region {} (biome {}) by adding {} Vitium", chunkPos, biomeId, vitiumAmount);
     }
@@ -80,9 +76,6 @@ public class CorruptionAPI {
             return;
         }
 
-        // Find the connected region
-        Set<ChunkPos> region = BiomeRegionDetector.findConnectedBiomeChunks(world, chunkPos, biomeId, 32);
-
         Identifier vitiumId = AspectsLib.identifier("vitium");
 
         // Get current Vitium amount for the region
@@ -91,7 +84,7 @@ public class CorruptionAPI {
 
         if (vitiumAmount > 0) {
             // Remove all Vitium from the region
-            CorruptionDataManager.modifyRegionAspects(world, region, biomeId, vitiumId, -vitiumAmount);
+            modifyRegion(world, chunkPos, biomeId, vitiumId, -vitiumAmount);
             AspectsLib.LOGGER.info("Purified chunk region {} (biome {}) by removing {} Vitium", chunkPos, biomeId, vitiumAmount);
         } else {
             AspectsLib.LOGGER.info("Chunk region {} (biome {}) has no Vitium to purify", chunkPos, biomeId);
@@ -136,4 +129,15 @@ public class CorruptionAPI {
     public static Collection<CorruptionChunkData> getTrackedChunks(ServerWorld world) {
         return CorruptionDataManager.getAll(world);
     }
+
+    private static void modifyRegion(ServerWorld world, ChunkPos chunkPos, Identifier biomeId,
+                                     Identifier aspectId, int delta) {
+        // Loaded chunks use the indexed region, unloaded ones only affect themselves
+        BiomeRegionIndex.Region region = BiomeRegionIndex.get(world).getRegion(chunkPos);
+        if (region != null && region.getBiomeId().equals(biomeId)) {
+            CorruptionDataManager.modifyRegionAspects(world, region, aspectId, delta);
+        } else {
+            CorruptionDataManager.modifyChunkAspect(world, chunkPos, biomeId, aspectId, delta);
+        }
+    }
 }
@@ -5,9 +5,13 @@ import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtElement;
 import net.minecraft.nbt.NbtList;
+import net.minecraft.network.PacketByteBuf;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.ChunkPos;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Locale;
 
 public class CorruptionChunkData {
@@ -264,4 +268,76 @@ public class CorruptionChunkData {
 
         return data;
     }
+
+    /**
+     * Encodes all entries column by column: positions, status, biome, ticks, counters, then the delta maps.
+     */
+    static byte[] encodeAll(Collection<CorruptionChunkData> entries) {
+        List<CorruptionChunkData> list = new ArrayList<>(entries);
+        CorruptionCodec.Palette palette = new CorruptionCodec.Palette();
+        PacketByteBuf buf = CorruptionCodec.newBuffer();
+
+        buf.writeVarInt(list.size());
+        for (CorruptionChunkData data : list) CorruptionCodec.writeSignedVarInt(buf, data.chunkPos.x);
+        for (CorruptionChunkData data : list) CorruptionCodec.writeSignedVarInt(buf, data.chunkPos.z);
+        for (CorruptionChunkData data : list) buf.writeByte(data.status.ordinal());
+        for (CorruptionChunkData data : list) buf.writeVarInt(palette.indexOfNullable(data.biomeId));
+        for (CorruptionChunkData data : list) buf.writeVarLong(data.lastUpdatedTick);
+        for (CorruptionChunkData data : list) buf.writeVarLong(data.lastCorruptedTick);
+        for (CorruptionChunkData data : list) buf.writeVarLong(data.lastRegenerationTick);
+        for (CorruptionChunkData data : list) buf.writeVarLong(data.lastCleanTick);
+        for (CorruptionChunkData data : list) buf.writeVarInt(data.corruptionEvents);
+        for (CorruptionChunkData data : list) buf.writeVarInt(data.regenerationEvents);
+        for (CorruptionChunkData data : list) buf.writeVarInt(data.sculkPlacements);
+        for (CorruptionChunkData data : list) writeCounts(buf, palette, data.aspectDeltas);
+        for (CorruptionChunkData data : list) writeCounts(buf, palette, data.aetherConsumed);
+
+        return CorruptionCodec.assemble(palette, buf);
+    }
+
+    static List<CorruptionChunkData> decodeAll(byte[] bytes) {
+        PacketByteBuf buf = CorruptionCodec.wrap(bytes);
+        buf.readVarInt(); // format version
+        CorruptionCodec.Palette palette = CorruptionCodec.Palette.read(buf);
+
+        int size = buf.readVarInt();
+        int[] xs = new int[size];
+        for (int i = 0; i < size; i++) xs[i] = CorruptionCodec.readSignedVarInt(buf);
+        List<CorruptionChunkData> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) list.add(new CorruptionChunkData(new ChunkPos(xs[i], CorruptionCodec.readSignedVarInt(buf))));
+
+        for (CorruptionChunkData data : list) data.status = Status.fromOrdinal(buf.readByte());
+        for (CorruptionChunkData data : list) data.biomeId = palette.getNullable(buf.readVarInt());
+        for (CorruptionChunkData data : list) data.lastUpdatedTick = buf.readVarLong();
+        for (CorruptionChunkData data : list) data.lastCorruptedTick = buf.readVarLong();
+        for (CorruptionChunkData data : list) data.lastRegenerationTick = buf.readVarLong();
+        for (CorruptionChunkData data : list) data.lastCleanTick = buf.readVarLong();
+        for (CorruptionChunkData data : list) data.corruptionEvents = buf.readVarInt();
+        for (CorruptionChunkData data : list) data.regenerationEvents = buf.readVarInt();
+        for (CorruptionChunkData data : list) data.sculkPlacements = buf.readVarInt();
+        for (CorruptionChunkData data : list) readCounts(buf, palette, data.aspectDeltas);
+        for (CorruptionChunkData data : list) readCounts(buf, palette, data.aetherConsumed);
+
+        buf.release();
+        return list;
+    }
+
+    private static void writeCounts(PacketByteBuf buf, CorruptionCodec.Palette palette, Object2IntOpenHashMap<Identifier> counts) {
+        buf.writeVarInt(counts.size());
+        for (Object2IntMap.Entry<Identifier> entry : counts.object2IntEntrySet()) {
+            buf.writeVarInt(palette.indexOf(entry.getKey()));
+            CorruptionCodec.writeSignedVarInt(buf, entry.getIntValue());
+        }
+    }
+
+    private static void readCounts(PacketByteBuf buf, CorruptionCodec.Palette palette, Object2IntOpenHashMap<Identifier> counts) {
+        int size = buf.readVarInt();
+        for (int i = 0; i < size; i++) {
+            Identifier aspectId = palette.get(buf.readVarInt());
+            int value = CorruptionCodec.readSignedVarInt(buf);
+            if (aspectId != null && value != 0) {
+                counts.put(aspectId, value);
+            }
+        }
+    }
 }
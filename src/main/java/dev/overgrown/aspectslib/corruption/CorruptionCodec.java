@@ -0,0 +1,113 @@
+package dev.overgrown.aspectslib.corruption;
+
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers for the compact columnar payloads stored by {@link CorruptionWorldState} and {@link ChunkAspectStorage}.
+ * <p>
+ * A payload is a single byte array holding a palette of identifiers followed by one column per field.
+ * Numbers are varints, signed values are zigzag encoded first so small negative numbers stay small.
+ * </p>
+ */
+final class CorruptionCodec {
+    static final int FORMAT_VERSION = 2;
+
+    private CorruptionCodec() {
+    }
+
+    static PacketByteBuf newBuffer() {
+        return new PacketByteBuf(Unpooled.buffer());
+    }
+
+    static PacketByteBuf wrap(byte[] bytes) {
+        return new PacketByteBuf(Unpooled.wrappedBuffer(bytes));
+    }
+
+    static byte[] toBytes(PacketByteBuf buf) {
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.getBytes(buf.readerIndex(), bytes);
+        buf.release();
+        return bytes;
+    }
+
+    /**
+     * Prefixes the column data with the format version and the palette it references.
+     */
+    static byte[] assemble(Palette palette, PacketByteBuf columns) {
+        PacketByteBuf out = newBuffer();
+        out.writeVarInt(FORMAT_VERSION);
+        palette.write(out);
+        out.writeBytes(columns);
+        columns.release();
+        return toBytes(out);
+    }
+
+    static void writeSignedVarInt(PacketByteBuf buf, int value) {
+        buf.writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    static int readSignedVarInt(PacketByteBuf buf) {
+        int value = buf.readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Identifiers used by a payload, written once up front and referenced by index in the columns.
+     */
+    static final class Palette {
+        private final Object2IntOpenHashMap<Identifier> indices = new Object2IntOpenHashMap<>();
+        private final List<Identifier> entries = new ArrayList<>();
+
+        Palette() {
+            indices.defaultReturnValue(-1);
+        }
+
+        int indexOf(Identifier id) {
+            int index = indices.getInt(id);
+            if (index == -1) {
+                index = entries.size();
+                indices.put(id, index);
+                entries.add(id);
+            }
+            return index;
+        }
+
+        /**
+         * Index shifted by one so {@code 0} can stand for a missing identifier.
+         */
+        int indexOfNullable(Identifier id) {
+            return id == null ? 0 : indexOf(id) + 1;
+        }
+
+        Identifier get(int index) {
+            return index >= 0 && index < entries.size() ? entries.get(index) : null;
+        }
+
+        Identifier getNullable(int index) {
+            return index == 0 ? null : get(index - 1);
+        }
+
+        void write(PacketByteBuf buf) {
+            buf.writeVarInt(entries.size());
+            for (Identifier id : entries) {
+                buf.writeString(id.toString());
+            }
+        }
+
+        static Palette read(PacketByteBuf buf) {
+            Palette palette = new Palette();
+            int size = buf.readVarInt();
+            for (int i = 0; i < size; i++) {
+                // Keep unparsable entries as null so the indices of later entries stay valid
+                palette.entries.add(Identifier.tryParse(buf.readString()));
+            }
+            return palette;
+        }
+    }
+}
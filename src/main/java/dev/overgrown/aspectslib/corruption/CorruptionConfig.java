@@ -0,0 +1,98 @@
+package dev.overgrown.aspectslib.corruption;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import dev.overgrown.aspectslib.AspectsLib;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class CorruptionConfig {
+
+    private static final Path CONFIG_PATH = Paths.get("config", "aspectslib", "corruption.json");
+
+    private int checkInterval = 200;
+    private double tickBudgetMs = 2.0;
+    private int simulationThreads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+    private boolean storeInChunks = false;
+
+    private static CorruptionConfig INSTANCE;
+
+    public static CorruptionConfig getInstance() {
+        if (INSTANCE == null) {
+            INSTANCE = new CorruptionConfig();
+            INSTANCE.load();
+        }
+        return INSTANCE;
+    }
+
+    public void load() {
+        if (Files.exists(CONFIG_PATH)) {
+            try {
+                read(JsonParser.parseString(Files.readString(CONFIG_PATH)).getAsJsonObject());
+                AspectsLib.LOGGER.info("Loaded corruption configuration");
+            } catch (IOException e) {
+                AspectsLib.LOGGER.error("Failed to load corruption config", e);
+                save();
+            }
+        } else {
+            save();
+        }
+    }
+
+    private void read(JsonObject json) {
+        if (json.has("checkInterval")) checkInterval = Math.max(1, json.get("checkInterval").getAsInt());
+        if (json.has("tickBudgetMs")) tickBudgetMs = Math.max(0.0, json.get("tickBudgetMs").getAsDouble());
+        if (json.has("simulationThreads")) simulationThreads = Math.max(0, json.get("simulationThreads").getAsInt());
+        if (json.has("storeInChunks")) storeInChunks = json.get("storeInChunks").getAsBoolean();
+    }
+
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("checkInterval", checkInterval);
+        json.addProperty("tickBudgetMs", tickBudgetMs);
+        json.addProperty("simulationThreads", simulationThreads);
+        json.addProperty("storeInChunks", storeInChunks);
+        return json;
+    }
+
+    public void save() {
+        try {
+            Files.createDirectories(CONFIG_PATH.getParent());
+
+            String jsonString = new com.google.gson.GsonBuilder()
+                    .setPrettyPrinting()
+                    .create()
+                    .toJson(toJson());
+
+            Files.writeString(CONFIG_PATH, jsonString);
+            AspectsLib.LOGGER.info("Saved corruption configuration");
+        } catch (IOException e) {
+            AspectsLib.LOGGER.error("Failed to save corruption config", e);
+        }
+    }
+
+    /**
+     * Ticks between the start of two corruption cycles. Every loaded region is processed once per cycle.
+     */
+    public int getCheckInterval() { return checkInterval; }
+
+    /**
+     * Time in milliseconds corruption may spend per server tick. Work that does not fit is carried over.
+     */
+    public double getTickBudgetMs() { return tickBudgetMs; }
+    public long getTickBudgetNanos() { return (long) (tickBudgetMs * 1_000_000L); }
+
+    /**
+     * Worker threads used to simulate regions off the server thread, {@code 0} simulates on the server thread.
+     */
+    public int getSimulationThreads() { return simulationThreads; }
+
+    /**
+     * Whether corruption and aether data of a chunk are saved in the chunk itself and only kept in memory while
+     * it is loaded, instead of in the per-region state files.
+     */
+    public boolean isStoreInChunks() { return storeInChunks; }
+}
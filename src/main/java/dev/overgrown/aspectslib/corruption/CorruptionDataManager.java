@@ -1,40 +1,105 @@
 package dev.overgrown.aspectslib.corruption;
 
 import dev.overgrown.aspectslib.data.AspectData;
+import dev.overgrown.aspectslib.data.ChunkDataAttachments;
+import dev.overgrown.aspectslib.data.RegionShardedState;
+import dev.overgrown.aspectslib.data.WorldContext;
+import dev.overgrown.aspectslib.networking.ChunkStateSync;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.nbt.NbtCompound;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.ChunkPos;
-import net.minecraft.world.PersistentStateManager;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public final class CorruptionDataManager {
     private static final String CORRUPTION_STATE_KEY = "aspectslib_corruption";
     private static final String CHUNK_ASPECT_STORAGE_KEY = "aspectslib_chunk_aspects";
+    private static final WorldContext.Key<ChunkAspectStorage> CHUNK_ASPECT_STORAGE = WorldContext.key(
+            world -> world.getPersistentStateManager().getOrCreate(
+                    ChunkAspectStorage::fromNbt,
+                    ChunkAspectStorage::new,
+                    CHUNK_ASPECT_STORAGE_KEY
+            )
+    );
+
+    private static final RegionShardedState<CorruptionWorldState> CORRUPTION_SHARDS = new RegionShardedState<>(
+            CORRUPTION_STATE_KEY,
+            CorruptionWorldState::fromNbt,
+            CorruptionWorldState::new,
+            CorruptionWorldState::splitIntoShards
+    );
 
     private CorruptionDataManager() {
     }
 
+    static void initialize() {
+        // Pull the shard of a region in as soon as one of its chunks loads, and release it once none is loaded
+        ServerChunkEvents.CHUNK_LOAD.register((world, chunk) -> {
+            CORRUPTION_SHARDS.onChunkLoad(world, chunk.getPos());
+            CORRUPTION_SHARDS.getIfPresent(world, chunk.getPos());
+        });
+        ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> CORRUPTION_SHARDS.onChunkUnload(world, chunk.getPos()));
+        ServerTickEvents.END_WORLD_TICK.register(CORRUPTION_SHARDS::releaseUnused);
+        ServerWorldEvents.UNLOAD.register((server, world) -> CORRUPTION_SHARDS.unload(world));
+        ChunkDataAttachments.register("Corruption", new ChunkAttachment());
+    }
+
+    /**
+     * Returns every corruption entry of the world merged into one state.
+     *
+     * @deprecated corruption is stored per 32x32 chunk region, use {@link #getWorldState(ServerWorld, ChunkPos)}
+     * or {@link #getAll(ServerWorld)}. The returned state is a snapshot that loads every region; entries are shared
+     * with the region states, but adding or removing entries and marking it dirty is not saved.
+     */
+    @Deprecated
     public static CorruptionWorldState getWorldState(ServerWorld world) {
-        PersistentStateManager manager = world.getPersistentStateManager();
-        return manager.getOrCreate(
-                CorruptionWorldState::fromNbt,
-                CorruptionWorldState::new,
-                CORRUPTION_STATE_KEY
-        );
+        CorruptionWorldState merged = new CorruptionWorldState();
+        for (CorruptionWorldState state : CORRUPTION_SHARDS.getAll(world)) {
+            for (CorruptionChunkData data : state.getAll()) {
+                merged.put(data);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Returns the state of the 32x32 chunk region holding the given chunk, creating it if needed.
+     */
+    public static CorruptionWorldState getWorldState(ServerWorld world, ChunkPos chunkPos) {
+        return CORRUPTION_SHARDS.getOrCreate(world, chunkPos);
     }
 
     public static void updateChunkStatus(ServerWorld world, ChunkPos chunkPos, Identifier biomeId,
                                          CorruptionChunkData.Status status, long tick) {
-        CorruptionWorldState state = getWorldState(world);
+        CorruptionWorldState state;
+        if (status == CorruptionChunkData.Status.PURE) {
+            state = CORRUPTION_SHARDS.getIfPresent(world, chunkPos);
+            if (state == null || state.get(chunkPos) == null) {
+                // Untracked chunks are already pure, creating an entry would only prune it again
+                return;
+            }
+        } else {
+            state = getWorldState(world, chunkPos);
+        }
         CorruptionChunkData data = state.getOrCreate(chunkPos);
+        CorruptionChunkData.Status previous = data.getStatus();
         boolean changed = data.setStatus(status, biomeId, tick);
         if (changed) {
-            state.markDirty();
+            markDirty(world, state, chunkPos);
+            CorruptionEvents.queueStatusChange(world, new CorruptionEvents.StatusChange(chunkPos, biomeId, previous, status));
+            ChunkStateSync.markChanged(world, chunkPos);
         }
         if (data.isPrunable()) {
             state.pruneIfClean(chunkPos);
+            ChunkDataAttachments.markChunkDirty(world, chunkPos);
         }
     }
 
@@ -44,14 +109,15 @@ public final class CorruptionDataManager {
             return;
         }
 
-        CorruptionWorldState state = getWorldState(world);
+        CorruptionWorldState state = getWorldState(world, chunkPos);
         CorruptionChunkData data = state.getOrCreate(chunkPos);
         boolean changed = data.recordAspectDelta(aspectId, delta, biomeId, tick);
         if (changed) {
-            state.markDirty();
+            markDirty(world, state, chunkPos);
         }
         if (data.isPrunable()) {
             state.pruneIfClean(chunkPos);
+            ChunkDataAttachments.markChunkDirty(world, chunkPos);
         }
     }
 
@@ -68,11 +134,11 @@ public final class CorruptionDataManager {
             return;
         }
 
-        CorruptionWorldState state = getWorldState(world);
+        CorruptionWorldState state = getWorldState(world, chunkPos);
         CorruptionChunkData data = state.getOrCreate(chunkPos);
         boolean changed = data.recordAetherConsumption(aspectId, amount, biomeId, tick);
         if (changed) {
-            state.markDirty();
+            markDirty(world, state, chunkPos);
         }
     }
 
@@ -81,29 +147,34 @@ public final class CorruptionDataManager {
             return;
         }
 
-        CorruptionWorldState state = getWorldState(world);
+        CorruptionWorldState state = getWorldState(world, chunkPos);
         CorruptionChunkData data = state.getOrCreate(chunkPos);
         boolean changed = data.recordSculkPlacement(count, tick);
         if (changed) {
-            state.markDirty();
+            markDirty(world, state, chunkPos);
         }
     }
 
     public static Collection<CorruptionChunkData> getAll(ServerWorld world) {
-        return List.copyOf(getWorldState(world).getAll());
+        List<CorruptionChunkData> all = new ArrayList<>();
+        for (CorruptionWorldState state : CORRUPTION_SHARDS.getAll(world)) {
+            all.addAll(state.getAll());
+        }
+        return all;
     }
 
     public static CorruptionChunkData getChunkData(ServerWorld world, ChunkPos chunkPos) {
-        return getWorldState(world).get(chunkPos);
+        CorruptionWorldState state = CORRUPTION_SHARDS.getIfPresent(world, chunkPos);
+        return state != null ? state.get(chunkPos) : null;
+    }
+
+    private static void markDirty(ServerWorld world, CorruptionWorldState state, ChunkPos chunkPos) {
+        state.markDirty();
+        ChunkDataAttachments.markChunkDirty(world, chunkPos);
     }
 
     public static ChunkAspectStorage getChunkAspectStorage(ServerWorld world) {
-        PersistentStateManager manager = world.getPersistentStateManager();
-        return manager.getOrCreate(
-                ChunkAspectStorage::fromNbt,
-                ChunkAspectStorage::new,
-                CHUNK_ASPECT_STORAGE_KEY
-        );
+        return WorldContext.get(world, CHUNK_ASPECT_STORAGE);
     }
 
     public static AspectData getChunkAspects(ServerWorld world, ChunkPos chunkPos, Identifier biomeId) {
@@ -115,11 +186,60 @@ public final class CorruptionDataManager {
         getChunkAspectStorage(world).modifyChunkAspect(chunkPos, biomeId, aspectId, delta);
     }
 
+    public static AspectData getRegionAspects(ServerWorld world, BiomeRegionIndex.Region region) {
+        return getChunkAspectStorage(world).getRegionAspects(region);
+    }
+
+    /**
+     * Applies a delta to the given chunks. Chunks belonging to a loaded region update the region's
+     * shared pool once, any other chunk is changed on its own.
+     */
     public static void modifyRegionAspects(ServerWorld world, Collection<ChunkPos> region, Identifier biomeId,
                                           Identifier aspectId, int delta) {
         ChunkAspectStorage storage = getChunkAspectStorage(world);
+        BiomeRegionIndex index = BiomeRegionIndex.get(world);
+        Set<BiomeRegionIndex.Region> modified = new HashSet<>();
         for (ChunkPos chunkPos : region) {
-            storage.modifyChunkAspect(chunkPos, biomeId, aspectId, delta);
+            BiomeRegionIndex.Region chunkRegion = index.getRegion(chunkPos);
+            if (chunkRegion != null && chunkRegion.getBiomeId().equals(biomeId)) {
+                if (modified.add(chunkRegion)) {
+                    storage.modifyRegionAspect(chunkRegion, aspectId, delta);
+                }
+            } else {
+                storage.modifyChunkAspect(chunkPos, biomeId, aspectId, delta);
+            }
+        }
+    }
+
+    public static void modifyRegionAspects(ServerWorld world, BiomeRegionIndex.Region region,
+                                          Identifier aspectId, int delta) {
+        getChunkAspectStorage(world).modifyRegionAspect(region, aspectId, delta);
+    }
+
+    /**
+     * Saves the corruption entry of a chunk in the chunk's own NBT when chunk storage is enabled.
+     */
+    private static class ChunkAttachment implements ChunkDataAttachments.Attachment {
+        @Override
+        public NbtCompound write(ServerWorld world, ChunkPos chunkPos) {
+            CorruptionChunkData data = getChunkData(world, chunkPos);
+            return data != null && !data.isPrunable() ? data.toNbt() : null;
+        }
+
+        @Override
+        public void read(ServerWorld world, ChunkPos chunkPos, NbtCompound nbt, boolean authoritative) {
+            CorruptionWorldState state = getWorldState(world, chunkPos);
+            if (authoritative || state.get(chunkPos) == null) {
+                state.put(CorruptionChunkData.fromNbt(chunkPos, nbt));
+            }
+        }
+
+        @Override
+        public void unload(ServerWorld world, ChunkPos chunkPos) {
+            CorruptionWorldState state = CORRUPTION_SHARDS.getIfPresent(world, chunkPos);
+            if (state != null) {
+                state.remove(chunkPos);
+            }
         }
     }
 }
@@ -0,0 +1,142 @@
+package dev.overgrown.aspectslib.corruption;
+
+import dev.overgrown.aspectslib.data.WorldContext;
+import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.event.EventFactory;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.ChunkPos;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Corruption change events. Changes are collected while a tick runs and delivered once at the end of the tick
+ * as one list per world, so listeners do work proportional to what changed instead of polling chunks.
+ * Listeners are only called for worlds and event types that had at least one change in the tick.
+ */
+public final class CorruptionEvents {
+
+    /**
+     * Chunks whose {@link CorruptionChunkData.Status} changed this tick.
+     */
+    public static final Event<StatusChanged> STATUS_CHANGED = EventFactory.createArrayBacked(StatusChanged.class,
+            listeners -> (world, changes) -> {
+                for (StatusChanged listener : listeners) {
+                    listener.onStatusChanged(world, changes);
+                }
+            });
+
+    /**
+     * Aspects and aether consumed by corruption this tick.
+     */
+    public static final Event<AspectsConsumed> ASPECTS_CONSUMED = EventFactory.createArrayBacked(AspectsConsumed.class,
+            listeners -> (world, consumptions) -> {
+                for (AspectsConsumed listener : listeners) {
+                    listener.onAspectsConsumed(world, consumptions);
+                }
+            });
+
+    /**
+     * Dead zones created by corruption this tick.
+     */
+    public static final Event<DeadZonesCreated> DEAD_ZONES_CREATED = EventFactory.createArrayBacked(DeadZonesCreated.class,
+            listeners -> (world, deadZones) -> {
+                for (DeadZonesCreated listener : listeners) {
+                    listener.onDeadZonesCreated(world, deadZones);
+                }
+            });
+
+    @FunctionalInterface
+    public interface StatusChanged {
+        void onStatusChanged(ServerWorld world, List<StatusChange> changes);
+    }
+
+    @FunctionalInterface
+    public interface AspectsConsumed {
+        void onAspectsConsumed(ServerWorld world, List<AspectConsumption> consumptions);
+    }
+
+    @FunctionalInterface
+    public interface DeadZonesCreated {
+        void onDeadZonesCreated(ServerWorld world, List<DeadZoneCreation> deadZones);
+    }
+
+    public record StatusChange(ChunkPos chunkPos, Identifier biomeId,
+                               CorruptionChunkData.Status previous, CorruptionChunkData.Status current) {
+    }
+
+    /**
+     * @param chunkPos the chunk the aspect was taken from; for region-wide consumption the region's representative chunk
+     * @param fromAether {@code true} if aether of the chunk was drained, {@code false} if the region's aspects were consumed
+     */
+    public record AspectConsumption(ChunkPos chunkPos, Identifier biomeId, Identifier aspectId, int amount,
+                                    boolean fromAether) {
+    }
+
+    public record DeadZoneCreation(ChunkPos chunkPos, Identifier biomeId, boolean permanent) {
+    }
+
+    private static final class Batch {
+        private final ServerWorld world;
+        private final List<StatusChange> statusChanges = new ArrayList<>();
+        private final List<AspectConsumption> consumptions = new ArrayList<>();
+        private final List<DeadZoneCreation> deadZones = new ArrayList<>();
+
+        private Batch(ServerWorld world) {
+            this.world = world;
+        }
+
+        private boolean isEmpty() {
+            return statusChanges.isEmpty() && consumptions.isEmpty() && deadZones.isEmpty();
+        }
+    }
+
+    private static final WorldContext.Key<Batch> PENDING = WorldContext.key(Batch::new);
+
+    private CorruptionEvents() {
+    }
+
+    static void queueStatusChange(ServerWorld world, StatusChange change) {
+        batch(world).statusChanges.add(change);
+    }
+
+    static void queueConsumption(ServerWorld world, AspectConsumption consumption) {
+        batch(world).consumptions.add(consumption);
+    }
+
+    static void queueDeadZone(ServerWorld world, DeadZoneCreation deadZone) {
+        batch(world).deadZones.add(deadZone);
+    }
+
+    static void flush(MinecraftServer server) {
+        // Changes queued by listeners go out with the next tick
+        List<Batch> batches = new ArrayList<>();
+        for (ServerWorld world : server.getWorlds()) {
+            WorldContext context = WorldContext.get(world);
+            Batch batch = context.get(PENDING);
+            if (!batch.isEmpty()) {
+                batches.add(batch);
+                context.remove(PENDING);
+            }
+        }
+
+        for (Batch batch : batches) {
+            if (!batch.statusChanges.isEmpty()) {
+                STATUS_CHANGED.invoker().onStatusChanged(batch.world, Collections.unmodifiableList(batch.statusChanges));
+            }
+            if (!batch.consumptions.isEmpty()) {
+                ASPECTS_CONSUMED.invoker().onAspectsConsumed(batch.world, Collections.unmodifiableList(batch.consumptions));
+            }
+            if (!batch.deadZones.isEmpty()) {
+                DEAD_ZONES_CREATED.invoker().onDeadZonesCreated(batch.world, Collections.unmodifiableList(batch.deadZones));
+            }
+        }
+    }
+
+    private static Batch batch(ServerWorld world) {
+        return WorldContext.get(world, PENDING);
+    }
+}
@@ -6,16 +6,18 @@ import dev.overgrown.aspectslib.aether.AetherManager;
 import dev.overgrown.aspectslib.aether.DeadZoneData;
 import dev.overgrown.aspectslib.data.AspectData;
 import dev.overgrown.aspectslib.data.BiomeAspectRegistry;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.minecraft.block.Blocks;
 import net.minecraft.server.MinecraftServer;
-import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
-import net.minecraft.world.World;
-import net.minecraft.world.biome.Biome;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.chunk.WorldChunk;
 
 import java.util.*;
 
@@ -23,263 +25,172 @@ public class CorruptionManager {
     public static final Identifier VITIUM_ID = AspectsLib.identifier("vitium");
     private static final Random RANDOM = new Random();
 
-    private record AspectConsumptionResult(Identifier aspectId, int previousAmount,
-                                           int newAmount, int vitiumBefore, int vitiumAfter) {
-    }
+    private static final CorruptionScheduler SCHEDULER = new CorruptionScheduler(CorruptionManager::commitRegionPlan);
 
     // Configuration
-    private static final int CORRUPTION_CHECK_INTERVAL = 200; // 10 seconds
-    private static final int ASPECT_CONSUMPTION_INTERVAL = 400; // 20 seconds
-    private static final int AETHER_CONSUMPTION_INTERVAL = 1200; // 60 seconds
-    private static final int SCULK_SPREAD_CHANCE = 20; // 20% chance per check
     private static final int MAX_SCULK_PER_CHUNK = 64;
-    private static final double PERMANENT_DEAD_ZONE_CHANCE = 0.1; // 10%
-    private static final int MAX_REGION_RADIUS = 32; // Maximum radius for region detection
 
     public static void initialize() {
+        BiomeRegionIndex.initialize();
+        CorruptionDataManager.initialize();
+        CorruptionConfig.getInstance();
         ServerTickEvents.START_SERVER_TICK.register(CorruptionManager::onServerTick);
+        ServerTickEvents.END_SERVER_TICK.register(CorruptionEvents::flush);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> SCHEDULER.shutdown());
     }
 
     private static void onServerTick(MinecraftServer server) {
-        long time = server.getOverworld().getTime();
-
-        // Only check every CORRUPTION_CHECK_INTERVAL ticks for performance
-        if (time % CORRUPTION_CHECK_INTERVAL != 0) {
-            return;
-        }
-
-        for (ServerWorld world : server.getWorlds()) {
-            processWorldCorruption(world, time);
-        }
+        // Regions are simulated off-thread at the start of each cycle and committed over the following ticks
+        SCHEDULER.tick(server, server.getOverworld().getTime());
     }
 
-    private static void processWorldCorruption(ServerWorld world, long currentTime) {
-        // Get all loaded chunks
-        Set<ChunkPos> loadedChunks = getLoadedChunks(world);
-        Set<ChunkPos> processedChunks = new HashSet<>();
-
-        // Process each unprocessed chunk and its connected region
-        for (ChunkPos chunkPos : loadedChunks) {
-            if (processedChunks.contains(chunkPos)) {
-                continue;
-            }
-
-            // Get the biome for this chunk
-            BlockPos centerPos = chunkPos.getStartPos().add(8, 64, 8);
-            Biome biome = world.getBiome(centerPos).value();
-            Identifier biomeId = world.getRegistryManager()
-                    .get(net.minecraft.registry.RegistryKeys.BIOME)
-                    .getId(biome);
-
-            if (biomeId == null) {
-                continue;
-            }
-
-            // Find all connected chunks of the same biome (region)
-            Set<ChunkPos> region = BiomeRegionDetector.findConnectedBiomeChunks(
-                world, chunkPos, biomeId, MAX_REGION_RADIUS);
-
-            // Mark all chunks in this region as processed
-            processedChunks.addAll(region);
-
-            // Process corruption for this region
-            processRegionCorruption(world, biomeId, region, chunkPos, currentTime);
+    /**
+     * Applies the effects decided by {@link CorruptionSimulation} for one region. Runs on the server thread.
+     */
+    private static void commitRegionPlan(CorruptionSimulation.Plan plan) {
+        CorruptionSimulation.Snapshot snapshot = plan.snapshot();
+        ServerWorld world = snapshot.world();
+        BiomeRegionIndex.Region region = snapshot.region();
+        long currentTime = snapshot.cycleTime();
+
+        // Plans are committed up to an interval after their snapshot, decide again if the aspects changed since
+        AspectData aspects = CorruptionDataManager.getChunkAspectStorage(world).getRegionAspects(region);
+        if (aspects != snapshot.aspects() && !aspects.equals(snapshot.aspects())) {
+            snapshot = new CorruptionSimulation.Snapshot(world, region, aspects, snapshot.cycleTime(),
+                    snapshot.previousCycleTime());
+            plan = CorruptionSimulation.simulate(snapshot, RANDOM);
         }
-    }
-
-    private static void processRegionCorruption(ServerWorld world, Identifier biomeId,
-                                                Set<ChunkPos> region,
-                                                ChunkPos representativeChunk,
-                                                long currentTime) {
-        // Get the region's aspects (modified by corruption effects)
-        AspectData currentRegionAspects = CorruptionDataManager.getChunkAspects(world, representativeChunk, biomeId);
 
-        // Check current Vitium amount
-        int currentVitiumAmount = currentRegionAspects.getLevel(VITIUM_ID);
-
-        if (currentVitiumAmount == 0) {
-            updateRegionStatuses(world, region, biomeId, CorruptionChunkData.Status.PURE, currentTime);
-            return;
-        }
-
-        // Calculate total of OTHER aspects (excluding Vitium) from the CURRENT region data
-        int currentTotalOtherAspects = calculateTotalOtherAspects(currentRegionAspects);
-
-        // For the base comparison, we should also use current aspects to be consistent
-        // But we need to exclude Vitium from the base calculation
-        int baseTotalForComparison = currentTotalOtherAspects;
-
-        // Log the aspects
-        if (AspectsLib.LOGGER.isDebugEnabled()) {
-            AspectsLib.LOGGER.debug("Region {} aspects - Vitium: {}, Other aspects total: {}",
-                    biomeId, currentVitiumAmount, baseTotalForComparison);
-            for (Identifier aspectId : currentRegionAspects.getAspectIds()) {
-                int amount = currentRegionAspects.getLevel(aspectId);
-                if (!aspectId.equals(VITIUM_ID)) {
-                    AspectsLib.LOGGER.debug("  {}: {}", aspectId, amount);
-                }
+        for (CorruptionSimulation.Effect effect : plan.effects()) {
+            if (effect instanceof CorruptionSimulation.SetStatus setStatus) {
+                updateRegionStatuses(world, region, setStatus.status(), currentTime);
+                logStatus(plan, setStatus.status());
+            } else if (effect instanceof CorruptionSimulation.SpreadSculk) {
+                spreadSculk(world, region.getRandomChunk(RANDOM), currentTime);
+            } else if (effect instanceof CorruptionSimulation.ConsumeAspect consumeAspect) {
+                consumeRegionAspect(world, region, consumeAspect.aspectId(), currentTime);
+            } else if (effect instanceof CorruptionSimulation.ConsumeAether consumeAether) {
+                processAetherConsumption(world, region, consumeAether.permanentDeadZone(), currentTime);
             }
         }
+    }
 
-        // Corruption occurs when Vitium is GREATER THAN the total of other aspects
-        // So for 15 total other aspects, you need 16 or more Vitium to corrupt
-        if (currentVitiumAmount > baseTotalForComparison) {
-            updateRegionStatuses(world, region, biomeId, CorruptionChunkData.Status.CORRUPTED, currentTime);
-            
+    private static void logStatus(CorruptionSimulation.Plan plan, CorruptionChunkData.Status status) {
+        Identifier biomeId = plan.snapshot().region().getBiomeId();
+        if (status == CorruptionChunkData.Status.CORRUPTED) {
             AspectsLib.LOGGER.info("Region {} became corrupted! Vitium: {} > Other aspects total: {}",
-                    biomeId, currentVitiumAmount, baseTotalForComparison);
-
-            // Process corruption effects for this region's chunks
-            processRegionCorruptionEffects(world, region, biomeId, representativeChunk, currentRegionAspects, currentTime);
-
-            // Check if only Vitium remains - start consuming aether
-            if (currentTotalOtherAspects == 0 && currentVitiumAmount > 0) {
-                if (currentTime % AETHER_CONSUMPTION_INTERVAL == 0) {
-                    processAetherConsumption(world, region, biomeId, currentTime);
-                }
-            }
-        } else {
-            updateRegionStatuses(world, region, biomeId, CorruptionChunkData.Status.TAINTED, currentTime);
-
+                    biomeId, plan.vitium(), plan.otherAspects());
+        } else if (status == CorruptionChunkData.Status.TAINTED) {
             AspectsLib.LOGGER.debug("Region {} is tainted. Vitium: {} <= Other aspects total: {} (needs to be > {} to corrupt)",
-                    biomeId, currentVitiumAmount, baseTotalForComparison, baseTotalForComparison);
-        }
-    }
-
-    private static void updateRegionStatuses(ServerWorld world, Set<ChunkPos> region,
-                                             Identifier biomeId, CorruptionChunkData.Status status, long tick) {
-        for (ChunkPos chunkPos : region) {
-            CorruptionDataManager.updateChunkStatus(world, chunkPos, biomeId, status, tick);
+                    biomeId, plan.vitium(), plan.otherAspects(), plan.otherAspects());
         }
     }
 
-    private static int calculateTotalOtherAspects(AspectData aspects) {
-        int total = 0;
-        for (Identifier aspectId : aspects.getAspectIds()) {
-            if (!aspectId.equals(VITIUM_ID)) {
-                total += aspects.getLevel(aspectId);
-            }
-        }
-        return total;
-    }
-
-    private static void processRegionCorruptionEffects(ServerWorld world, Set<ChunkPos> region,
-                                                       Identifier biomeId, ChunkPos representativeChunk, AspectData currentAspects,
-                                                       long currentTime) {
-        // Spread sculk in random chunks
-        if (RANDOM.nextInt(100) < SCULK_SPREAD_CHANCE) {
-            List<ChunkPos> regionList = new ArrayList<>(region);
-            ChunkPos randomChunk = regionList.get(RANDOM.nextInt(regionList.size()));
-            spreadSculk(world, randomChunk, currentTime);
-        }
-
-        // Consume aspects ONCE per region (not per chunk!)
-        if (currentTime % ASPECT_CONSUMPTION_INTERVAL == 0) {
-            consumeRegionAspects(world, region, biomeId, currentAspects).ifPresent(result -> {
-                CorruptionDataManager.recordAspectDelta(world, representativeChunk, biomeId, result.aspectId(), -1, currentTime);
-                int vitiumDelta = result.vitiumAfter() - result.vitiumBefore();
-                if (vitiumDelta != 0) {
-                    CorruptionDataManager.recordAspectDelta(world, representativeChunk, biomeId, VITIUM_ID, vitiumDelta, currentTime);
-                }
-            });
+    private static void updateRegionStatuses(ServerWorld world, BiomeRegionIndex.Region region,
+                                             CorruptionChunkData.Status status, long tick) {
+        LongIterator iterator = region.getChunks().iterator();
+        while (iterator.hasNext()) {
+            CorruptionDataManager.updateChunkStatus(world, new ChunkPos(iterator.nextLong()), region.getBiomeId(), status, tick);
         }
     }
 
     private static void spreadSculk(ServerWorld world, ChunkPos chunkPos, long currentTime) {
+        WorldChunk chunk = world.getChunk(chunkPos.x, chunkPos.z);
+        BlockPos.Mutable pos = new BlockPos.Mutable();
         int sculkCount = 0;
 
         for (int i = 0; i < 3; i++) { // Try 3 times to place sculk
             if (sculkCount >= MAX_SCULK_PER_CHUNK) break;
 
-            int x = chunkPos.getStartX() + RANDOM.nextInt(16);
-            int z = chunkPos.getStartZ() + RANDOM.nextInt(16);
-            BlockPos pos = findSurfacePosition(world, new BlockPos(x, 0, z));
-
-            if (pos != null && world.getBlockState(pos).isAir() &&
-                    world.getBlockState(pos.down()).isOpaque()) {
-                world.setBlockState(pos, Blocks.SCULK.getDefaultState());
-                sculkCount++;
-                CorruptionDataManager.recordSculkPlacement(world, chunkPos, 1, currentTime);
-
-                // Play sculk spread sound effect
-                world.playSound(
-                        null, // player - null means all nearby players will hear it
-                        pos.getX() + 0.5,
-                        pos.getY() + 0.5,
-                        pos.getZ() + 0.5,
-                        net.minecraft.sound.SoundEvents.BLOCK_SCULK_SPREAD, // The sculk spread sound
-                        net.minecraft.sound.SoundCategory.BLOCKS,
-                        1.0f, // volume
-                        0.8f + RANDOM.nextFloat() * 0.4f // pitch variation (0.8 to 1.2)
-                );
-
-                AspectsLib.LOGGER.debug("Placed sculk at {} in chunk {}", pos, chunkPos);
+            int localX = RANDOM.nextInt(16);
+            int localZ = RANDOM.nextInt(16);
+
+            // Heightmap gives the topmost solid block, leaves are skipped like before
+            int surfaceY = chunk.sampleHeightmap(Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, localX, localZ) + 1;
+            if (surfaceY <= world.getBottomY() || surfaceY >= world.getTopY()) {
+                continue;
             }
-        }
-    }
 
-    private static BlockPos findSurfacePosition(World world, BlockPos pos) {
-        for (int y = world.getTopY(); y >= world.getBottomY(); y--) {
-            BlockPos currentPos = new BlockPos(pos.getX(), y, pos.getZ());
-            if (world.getBlockState(currentPos).isOpaque()) {
-                return currentPos.up();
+            pos.set(chunkPos.getStartX() + localX, surfaceY, chunkPos.getStartZ() + localZ);
+            if (!chunk.getBlockState(pos).isAir()) {
+                continue;
+            }
+            pos.move(Direction.DOWN);
+            boolean opaqueBelow = chunk.getBlockState(pos).isOpaque();
+            pos.move(Direction.UP);
+            if (!opaqueBelow) {
+                continue;
             }
+
+            world.setBlockState(pos, Blocks.SCULK.getDefaultState());
+            sculkCount++;
+
+            // Play sculk spread sound effect
+            world.playSound(
+                    null, // player - null means all nearby players will hear it
+                    pos.getX() + 0.5,
+                    pos.getY() + 0.5,
+                    pos.getZ() + 0.5,
+                    net.minecraft.sound.SoundEvents.BLOCK_SCULK_SPREAD, // The sculk spread sound
+                    net.minecraft.sound.SoundCategory.BLOCKS,
+                    1.0f, // volume
+                    0.8f + RANDOM.nextFloat() * 0.4f // pitch variation (0.8 to 1.2)
+            );
+
+            AspectsLib.LOGGER.debug("Placed sculk at {} in chunk {}", pos, chunkPos);
         }
-        return null;
+
+        // Record all placements of this pass at once
+        CorruptionDataManager.recordSculkPlacement(world, chunkPos, sculkCount, currentTime);
     }
 
-    private static Optional<AspectConsumptionResult> consumeRegionAspects(ServerWorld world, Set<ChunkPos> region, Identifier biomeId, AspectData currentAspects) {
-        List<Identifier> nonVitiumAspects = new ArrayList<>();
+    private static void consumeRegionAspect(ServerWorld world, BiomeRegionIndex.Region region,
+                                            Identifier targetAspect, long currentTime) {
+        Identifier biomeId = region.getBiomeId();
+        ChunkPos representativeChunk = region.getRepresentative();
 
-        // Find all non-Vitium aspects with positive amounts
-        for (Identifier aspectId : currentAspects.getAspectIds()) {
-            if (!aspectId.equals(VITIUM_ID) && currentAspects.getLevel(aspectId) > 0) {
-                nonVitiumAspects.add(aspectId);
-            }
+        // The plan was made from the snapshot at cycle start, re-check against the current pool
+        AspectData currentAspects = CorruptionDataManager.getRegionAspects(world, region);
+        int currentAmount = currentAspects.getLevel(targetAspect);
+        if (currentAmount <= 0) {
+            return;
         }
 
-        if (nonVitiumAspects.isEmpty()) {
-            AspectsLib.LOGGER.debug("No non-Vitium aspects left to consume in region {}", biomeId);
-            return Optional.empty();
-        }
+        // Reduce target aspect by 1, increase Vitium by 1 across the region
+        int previousVitiumAmount = currentAspects.getLevel(VITIUM_ID);
+        CorruptionDataManager.modifyRegionAspects(world, region, targetAspect, -1);
+        CorruptionDataManager.modifyRegionAspects(world, region, VITIUM_ID, 1);
 
-        // Pick a random aspect to consume
-        Identifier targetAspect = nonVitiumAspects.get(RANDOM.nextInt(nonVitiumAspects.size()));
-        int currentAmount = currentAspects.getLevel(targetAspect);
+        AspectData updatedAspects = CorruptionDataManager.getRegionAspects(world, region);
+        int newAmount = updatedAspects.getLevel(targetAspect);
+        int newVitiumAmount = updatedAspects.getLevel(VITIUM_ID);
 
-        if (currentAmount > 0) {
-            // Reduce target aspect by 1, increase Vitium by 1 across the region
-            int previousVitiumAmount = currentAspects.getLevel(VITIUM_ID);
-            CorruptionDataManager.modifyRegionAspects(world, region, biomeId, targetAspect, -1);
-            CorruptionDataManager.modifyRegionAspects(world, region, biomeId, VITIUM_ID, 1);
-
-            // Get the updated aspects to verify the change
-            ChunkPos representativeChunk = region.iterator().next();
-            AspectData updatedAspects = CorruptionDataManager.getChunkAspects(world, representativeChunk, biomeId);
-            int newAmount = updatedAspects.getLevel(targetAspect);
-            int newVitiumAmount = updatedAspects.getLevel(VITIUM_ID);
-
-            AspectsLib.LOGGER.info("Vitium consumed 1 {} from region {}. {}: {} -> {}, Vitium: {} -> {}",
-                    targetAspect, biomeId, targetAspect, currentAmount, newAmount,
-                    previousVitiumAmount, newVitiumAmount);
-
-            // If aspect reaches 0, log it
-            if (newAmount <= 0) {
-                AspectsLib.LOGGER.info("Aspect {} completely consumed in region {}! Moving to next aspect.",
-                        targetAspect, biomeId);
-            }
+        AspectsLib.LOGGER.info("Vitium consumed 1 {} from region {}. {}: {} -> {}, Vitium: {} -> {}",
+                targetAspect, biomeId, targetAspect, currentAmount, newAmount,
+                previousVitiumAmount, newVitiumAmount);
 
-            return Optional.of(new AspectConsumptionResult(targetAspect, currentAmount, newAmount, previousVitiumAmount, newVitiumAmount));
+        // If aspect reaches 0, log it
+        if (newAmount <= 0) {
+            AspectsLib.LOGGER.info("Aspect {} completely consumed in region {}! Moving to next aspect.",
+                    targetAspect, biomeId);
         }
 
-        return Optional.empty();
+        CorruptionEvents.queueConsumption(world, new CorruptionEvents.AspectConsumption(
+                representativeChunk, biomeId, targetAspect, 1, false));
+
+        CorruptionDataManager.recordAspectDelta(world, representativeChunk, biomeId, targetAspect, -1, currentTime);
+        int vitiumDelta = newVitiumAmount - previousVitiumAmount;
+        if (vitiumDelta != 0) {
+            CorruptionDataManager.recordAspectDelta(world, representativeChunk, biomeId, VITIUM_ID, vitiumDelta, currentTime);
+        }
     }
 
-    private static void processAetherConsumption(ServerWorld world, Set<ChunkPos> region,
-                                                 Identifier biomeId, long currentTime) {
+    private static void processAetherConsumption(ServerWorld world, BiomeRegionIndex.Region region,
+                                                 boolean permanentDeadZone, long currentTime) {
+        Identifier biomeId = region.getBiomeId();
+
         // Process aether consumption for a random chunk in the region
-        List<ChunkPos> regionList = new ArrayList<>(region);
-        ChunkPos targetChunk = regionList.get(RANDOM.nextInt(regionList.size()));
+        ChunkPos targetChunk = region.getRandomChunk(RANDOM);
         
         AetherChunkData aetherData = AetherManager.getAetherData(world, targetChunk);
 
@@ -304,9 +215,11 @@ public class CorruptionManager {
             if (targetAspect != null) {
                 // Consume 1 point of aether, increase Vitium aspect by 1 across the region
                 if (aetherData.harvestAether(targetAspect, 1)) {
-                    CorruptionDataManager.modifyRegionAspects(world, region, biomeId, VITIUM_ID, 1);
+                    CorruptionDataManager.modifyRegionAspects(world, region, VITIUM_ID, 1);
                     CorruptionDataManager.recordAetherConsumption(world, targetChunk, biomeId, targetAspect, 1, currentTime);
                     CorruptionDataManager.recordAspectDelta(world, targetChunk, biomeId, VITIUM_ID, 1, currentTime);
+                    CorruptionEvents.queueConsumption(world, new CorruptionEvents.AspectConsumption(
+                            targetChunk, biomeId, targetAspect, 1, true));
 
                     AspectsLib.LOGGER.info("Consumed 1 {} Aether from chunk {}, total aether remaining: {}",
                             targetAspect, targetChunk, totalAether - 1);
@@ -315,28 +228,29 @@ public class CorruptionManager {
         } else {
             // All aether depleted - create dead zone (only once per chunk)
             if (!AetherManager.isDeadZone(world, targetChunk)) {
-                boolean permanent = RANDOM.nextDouble() < PERMANENT_DEAD_ZONE_CHANCE;
-                DeadZoneData deadZoneData = new DeadZoneData(permanent, world.getTime());
+                DeadZoneData deadZoneData = new DeadZoneData(permanentDeadZone, world.getTime());
                 AetherManager.markAsDeadZone(world, targetChunk, deadZoneData);
 
                 // Erase all aspects from the region
-                eraseRegionAspects(world, region, biomeId);
+                eraseRegionAspects(world, region);
                 CorruptionDataManager.updateChunkStatus(world, targetChunk, biomeId, CorruptionChunkData.Status.REGENERATING, currentTime);
+                CorruptionEvents.queueDeadZone(world, new CorruptionEvents.DeadZoneCreation(targetChunk, biomeId, permanentDeadZone));
 
                 AspectsLib.LOGGER.info("Created {} dead zone at {} in region {}",
-                        permanent ? "permanent" : "temporary", targetChunk, biomeId);
+                        permanentDeadZone ? "permanent" : "temporary", targetChunk, biomeId);
             }
         }
     }
 
-    private static void eraseRegionAspects(ServerWorld world, Set<ChunkPos> region, Identifier biomeId) {
+    private static void eraseRegionAspects(ServerWorld world, BiomeRegionIndex.Region region) {
+        Identifier biomeId = region.getBiomeId();
+
         // Get current aspects and set all to 0 across the region
-        ChunkPos representativeChunk = region.iterator().next();
-        AspectData currentAspects = CorruptionDataManager.getChunkAspects(world, representativeChunk, biomeId);
+        AspectData currentAspects = CorruptionDataManager.getRegionAspects(world, region);
         for (Identifier aspectId : currentAspects.getAspectIds()) {
             int currentAmount = currentAspects.getLevel(aspectId);
             if (currentAmount > 0) {
-                CorruptionDataManager.modifyRegionAspects(world, region, biomeId, aspectId, -currentAmount);
+                CorruptionDataManager.modifyRegionAspects(world, region, aspectId, -currentAmount);
             }
         }
 
@@ -344,29 +258,6 @@ public class CorruptionManager {
     }
 
 
-    private static Set<ChunkPos> getLoadedChunks(ServerWorld world) {
-        Set<ChunkPos> loadedChunks = new HashSet<>();
-
-        // Collect chunks around players (within view distance)
-        for (ServerPlayerEntity player : world.getPlayers()) {
-            ChunkPos playerChunk = player.getChunkPos();
-            int viewDistance = world.getServer().getPlayerManager().getViewDistance();
-
-            // Add chunks in a radius around each player
-            for (int x = -viewDistance; x <= viewDistance; x++) {
-                for (int z = -viewDistance; z <= viewDistance; z++) {
-                    ChunkPos chunkPos = new ChunkPos(playerChunk.x + x, playerChunk.z + z);
-                    // Check if chunk is actually loaded
-                    if (world.getChunkManager().isChunkLoaded(chunkPos.x, chunkPos.z)) {
-                        loadedChunks.add(chunkPos);
-                    }
-                }
-            }
-        }
-
-        return loadedChunks;
-    }
-
     // Chunk-based API access
     public static boolean isChunkCorrupted(ServerWorld world, ChunkPos chunkPos) {
         CorruptionChunkData data = CorruptionDataManager.getChunkData(world, chunkPos);
@@ -0,0 +1,167 @@
+package dev.overgrown.aspectslib.corruption;
+
+import dev.overgrown.aspectslib.AspectsLib;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs corruption cycles in two phases.
+ * <p>
+ * At the start of a cycle the aspects of every loaded region are snapshotted on the server thread and handed to
+ * a worker pool, which runs {@link CorruptionSimulation} and produces a plan of effects per region. The server
+ * thread then commits finished plans over the ticks of the interval: each tick works through its even share of
+ * the cycle and stops early once the configured time budget is used up. Unfinished work carries over to the
+ * next tick. Cycles are due on multiples of the check interval; a new cycle only starts once the previous one has
+ * drained, so a cycle that overruns delays the next one until it is done instead of skipping it.
+ * </p>
+ */
+public class CorruptionScheduler {
+    private static final int SIMULATION_BATCH_SIZE = 64;
+
+    private final Consumer<CorruptionSimulation.Plan> committer;
+    private final ArrayDeque<SimulationBatch> simulations = new ArrayDeque<>();
+    private final ArrayDeque<CorruptionSimulation.Plan> plans = new ArrayDeque<>();
+    private ExecutorService executor;
+    private long cycleTime = -1;
+    private long nextCycleTime = -1;
+    private int cycleSize;
+    private int processed;
+
+    public CorruptionScheduler(Consumer<CorruptionSimulation.Plan> committer) {
+        this.committer = committer;
+    }
+
+    public void tick(MinecraftServer server, long time) {
+        CorruptionConfig config = CorruptionConfig.getInstance();
+        int interval = config.getCheckInterval();
+
+        if (nextCycleTime < 0) {
+            nextCycleTime = time + Math.floorMod(-time, interval);
+        }
+        if (time >= nextCycleTime) {
+            if (isIdle()) {
+                startCycle(server, time, config);
+                nextCycleTime = time - Math.floorMod(time, interval) + interval;
+            } else if (time == nextCycleTime) {
+                AspectsLib.LOGGER.debug("Corruption cycle from tick {} still has {} regions left, delaying next cycle",
+                        cycleTime, cycleSize - processed);
+            }
+        }
+
+        collectFinishedSimulations();
+        if (plans.isEmpty()) {
+            return;
+        }
+
+        // Regions that should be done by the end of this tick if work were spread evenly over the interval
+        long elapsed = Math.max(0, time - cycleTime) + 1;
+        long target = Math.min(cycleSize, (cycleSize * elapsed + interval - 1) / interval);
+
+        long deadline = System.nanoTime() + config.getTickBudgetNanos();
+        boolean first = true;
+        while (!plans.isEmpty() && processed < target) {
+            // Always make some progress, even with a zero budget
+            if (!first && System.nanoTime() >= deadline) {
+                break;
+            }
+            first = false;
+
+            CorruptionSimulation.Plan plan = plans.poll();
+            processed++;
+            CorruptionSimulation.Snapshot snapshot = plan.snapshot();
+            if (BiomeRegionIndex.get(snapshot.world()).isActive(snapshot.region())) {
+                committer.accept(plan);
+            }
+        }
+    }
+
+    public void shutdown() {
+        simulations.forEach(batch -> batch.future().cancel(false));
+        simulations.clear();
+        plans.clear();
+        cycleTime = -1;
+        nextCycleTime = -1;
+        cycleSize = 0;
+        processed = 0;
+
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    public boolean isIdle() {
+        return simulations.isEmpty() && plans.isEmpty();
+    }
+
+    private void startCycle(MinecraftServer server, long time, CorruptionConfig config) {
+        long previousCycleTime = cycleTime < 0 ? time - config.getCheckInterval() : cycleTime;
+        cycleTime = time;
+        processed = 0;
+
+        List<CorruptionSimulation.Snapshot> snapshots = new ArrayList<>();
+        for (ServerWorld world : server.getWorlds()) {
+            ChunkAspectStorage storage = CorruptionDataManager.getChunkAspectStorage(world);
+            for (BiomeRegionIndex.Region region : BiomeRegionIndex.get(world).getRegions()) {
+                snapshots.add(new CorruptionSimulation.Snapshot(world, region, storage.getRegionAspects(region),
+                        time, previousCycleTime));
+            }
+        }
+        cycleSize = snapshots.size();
+
+        for (int start = 0; start < snapshots.size(); start += SIMULATION_BATCH_SIZE) {
+            List<CorruptionSimulation.Snapshot> batch = snapshots.subList(start, Math.min(snapshots.size(), start + SIMULATION_BATCH_SIZE));
+            CompletableFuture<List<CorruptionSimulation.Plan>> future = config.getSimulationThreads() <= 0
+                    ? CompletableFuture.completedFuture(simulateBatch(batch))
+                    : CompletableFuture.supplyAsync(() -> simulateBatch(batch), getExecutor(config));
+            simulations.add(new SimulationBatch(batch.size(), future));
+        }
+    }
+
+    private void collectFinishedSimulations() {
+        // Keep cycle order by only taking finished batches from the front
+        while (!simulations.isEmpty() && simulations.peek().future().isDone()) {
+            SimulationBatch batch = simulations.poll();
+            try {
+                plans.addAll(batch.future().join());
+            } catch (Exception e) {
+                AspectsLib.LOGGER.error("Corruption simulation failed", e);
+                // Count the lost batch as processed so the cycle can still finish
+                processed += batch.size();
+            }
+        }
+    }
+
+    private static List<CorruptionSimulation.Plan> simulateBatch(List<CorruptionSimulation.Snapshot> batch) {
+        List<CorruptionSimulation.Plan> result = new ArrayList<>(batch.size());
+        for (CorruptionSimulation.Snapshot snapshot : batch) {
+            result.add(CorruptionSimulation.simulate(snapshot, ThreadLocalRandom.current()));
+        }
+        return result;
+    }
+
+    private ExecutorService getExecutor(CorruptionConfig config) {
+        if (executor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(config.getSimulationThreads(), runnable -> {
+                Thread thread = new Thread(runnable, "AspectsLib Corruption Worker #" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    private record SimulationBatch(int size, CompletableFuture<List<CorruptionSimulation.Plan>> future) {
+    }
+}
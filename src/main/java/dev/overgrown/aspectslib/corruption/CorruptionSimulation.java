@@ -0,0 +1,111 @@
+package dev.overgrown.aspectslib.corruption;
+
+import dev.overgrown.aspectslib.data.AspectData;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The decision part of corruption processing. It only reads a snapshot of a region's aspects, so it can run
+ * on a worker thread; the resulting {@link Effect}s are applied to the world by {@link CorruptionManager}
+ * on the server thread.
+ */
+public final class CorruptionSimulation {
+    static final int ASPECT_CONSUMPTION_INTERVAL = 400; // 20 seconds
+    static final int AETHER_CONSUMPTION_INTERVAL = 1200; // 60 seconds
+    private static final int SCULK_SPREAD_CHANCE = 20; // 20% chance per check
+    private static final double PERMANENT_DEAD_ZONE_CHANCE = 0.1; // 10%
+
+    private CorruptionSimulation() {
+    }
+
+    /**
+     * Region state captured on the server thread at the start of a cycle.
+     */
+    public record Snapshot(ServerWorld world, BiomeRegionIndex.Region region, AspectData aspects, long cycleTime,
+                           long previousCycleTime) {
+    }
+
+    public record Plan(Snapshot snapshot, int vitium, int otherAspects, List<Effect> effects) {
+    }
+
+    public interface Effect {
+    }
+
+    public record SetStatus(CorruptionChunkData.Status status) implements Effect {
+    }
+
+    public record SpreadSculk() implements Effect {
+    }
+
+    /**
+     * Turns one point of the given aspect into Vitium across the region.
+     */
+    public record ConsumeAspect(Identifier aspectId) implements Effect {
+    }
+
+    /**
+     * Drains aether from a random chunk of the region, or creates a dead zone there if none is left.
+     */
+    public record ConsumeAether(boolean permanentDeadZone) implements Effect {
+    }
+
+    public static Plan simulate(Snapshot snapshot, Random random) {
+        AspectData aspects = snapshot.aspects();
+        List<Effect> effects = new ArrayList<>(3);
+
+        int vitium = aspects.getLevel(CorruptionManager.VITIUM_ID);
+        if (vitium == 0) {
+            effects.add(new SetStatus(CorruptionChunkData.Status.PURE));
+            return new Plan(snapshot, 0, 0, effects);
+        }
+
+        int otherAspects = 0;
+        List<Identifier> consumable = new ArrayList<>();
+        for (Identifier aspectId : aspects.getAspectIds()) {
+            if (aspectId.equals(CorruptionManager.VITIUM_ID)) continue;
+
+            int amount = aspects.getLevel(aspectId);
+            otherAspects += amount;
+            if (amount > 0) {
+                consumable.add(aspectId);
+            }
+        }
+
+        // Corruption occurs when Vitium is GREATER THAN the total of other aspects
+        // So for 15 total other aspects, you need 16 or more Vitium to corrupt
+        if (vitium <= otherAspects) {
+            effects.add(new SetStatus(CorruptionChunkData.Status.TAINTED));
+            return new Plan(snapshot, vitium, otherAspects, effects);
+        }
+
+        effects.add(new SetStatus(CorruptionChunkData.Status.CORRUPTED));
+
+        if (random.nextInt(100) < SCULK_SPREAD_CHANCE) {
+            effects.add(new SpreadSculk());
+        }
+
+        // Consume aspects ONCE per region (not per chunk!)
+        if (!consumable.isEmpty() && isFirstCycleOfInterval(snapshot, ASPECT_CONSUMPTION_INTERVAL)) {
+            effects.add(new ConsumeAspect(consumable.get(random.nextInt(consumable.size()))));
+        }
+
+        // Only Vitium remains - start consuming aether
+        if (otherAspects == 0 && isFirstCycleOfInterval(snapshot, AETHER_CONSUMPTION_INTERVAL)) {
+            effects.add(new ConsumeAether(random.nextDouble() < PERMANENT_DEAD_ZONE_CHANCE));
+        }
+
+        return new Plan(snapshot, vitium, otherAspects, effects);
+    }
+
+    /**
+     * Cycles can start late when the previous one overran, so a cycle is the first of an interval if an interval
+     * boundary was crossed since the cycle before it.
+     */
+    private static boolean isFirstCycleOfInterval(Snapshot snapshot, int interval) {
+        return Math.floorDiv(snapshot.cycleTime(), interval) != Math.floorDiv(snapshot.previousCycleTime(), interval);
+    }
+}
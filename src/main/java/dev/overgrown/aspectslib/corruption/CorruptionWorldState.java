@@ -9,6 +9,7 @@ import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.PersistentState;
 
 import java.util.Collection;
+import java.util.function.Function;
 
 public class CorruptionWorldState extends PersistentState {
     private final Long2ObjectMap<CorruptionChunkData> chunkData = new Long2ObjectOpenHashMap<>();
@@ -33,25 +34,49 @@ public class CorruptionWorldState extends PersistentState {
         }
     }
 
+    void put(CorruptionChunkData data) {
+        chunkData.put(data.getChunkPos().toLong(), data);
+        markDirty();
+    }
+
+    void remove(ChunkPos chunkPos) {
+        if (chunkData.remove(chunkPos.toLong()) != null) {
+            markDirty();
+        }
+    }
+
     public Collection<CorruptionChunkData> getAll() {
         return chunkData.values();
     }
 
+    /**
+     * Moves the entries of a state saved as a single file into the region shards they belong to.
+     */
+    static void splitIntoShards(CorruptionWorldState legacy, Function<ChunkPos, CorruptionWorldState> shards) {
+        for (CorruptionChunkData data : legacy.chunkData.values()) {
+            CorruptionWorldState shard = shards.apply(data.getChunkPos());
+            shard.chunkData.put(data.getChunkPos().toLong(), data);
+            shard.markDirty();
+        }
+        legacy.chunkData.clear();
+        legacy.markDirty();
+    }
+
     @Override
     public NbtCompound writeNbt(NbtCompound nbt) {
-        NbtList chunkList = new NbtList();
-        for (Long2ObjectMap.Entry<CorruptionChunkData> entry : chunkData.long2ObjectEntrySet()) {
-            NbtCompound chunkNbt = entry.getValue().toNbt();
-            chunkNbt.putLong("Pos", entry.getLongKey());
-            chunkList.add(chunkNbt);
-        }
-        nbt.put("Chunks", chunkList);
+        nbt.putInt("Format", CorruptionCodec.FORMAT_VERSION);
+        nbt.putByteArray("Data", CorruptionChunkData.encodeAll(chunkData.values()));
         return nbt;
     }
 
     public static CorruptionWorldState fromNbt(NbtCompound nbt) {
         CorruptionWorldState state = new CorruptionWorldState();
-        if (nbt.contains("Chunks", NbtElement.LIST_TYPE)) {
+        if (nbt.contains("Data", NbtElement.BYTE_ARRAY_TYPE)) {
+            for (CorruptionChunkData data : CorruptionChunkData.decodeAll(nbt.getByteArray("Data"))) {
+                state.chunkData.put(data.getChunkPos().toLong(), data);
+            }
+        } else if (nbt.contains("Chunks", NbtElement.LIST_TYPE)) {
+            // Older saves stored one compound per chunk
             NbtList chunkList = nbt.getList("Chunks", NbtElement.COMPOUND_TYPE);
             for (int i = 0; i < chunkList.size(); i++) {
                 NbtCompound chunkNbt = chunkList.getCompound(i);
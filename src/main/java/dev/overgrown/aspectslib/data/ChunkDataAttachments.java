@@ -0,0 +1,145 @@
+package dev.overgrown.aspectslib.data;
+
+import dev.overgrown.aspectslib.AspectsLib;
+import dev.overgrown.aspectslib.api.IChunkAttachmentHolder;
+import dev.overgrown.aspectslib.corruption.CorruptionConfig;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.WorldChunk;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-chunk data saved inside the chunk's own NBT instead of a world-wide state.
+ * <p>
+ * When {@link CorruptionConfig#isStoreInChunks()} is on, registered attachments write their entry for a chunk
+ * whenever vanilla serializes it, and drop it from memory once the chunk unloads, so memory only holds loaded
+ * chunks and saving rides along with the vanilla chunk writer. Entries found in chunk NBT are always read back,
+ * which lets a world switch between both storage modes.
+ * </p>
+ * <p>
+ * Chunk NBT is read while the chunk is still a proto chunk. The entries are kept on the chunk object and applied
+ * once it is promoted to a full chunk, so chunks that are only read for lighting or structures drop them together
+ * with the chunk.
+ * </p>
+ * <p>
+ * Only loaded chunks are saved. In chunk mode an entry changed for a chunk that is not loaded stays in memory until
+ * its region is released or the world unloads and is then lost, {@link #markChunkDirty} logs these writes.
+ * </p>
+ */
+public final class ChunkDataAttachments {
+    private static final String NBT_KEY = "AspectsLib";
+
+    private static final Map<String, Attachment> ATTACHMENTS = new LinkedHashMap<>();
+
+    public interface Attachment {
+        /**
+         * @return the entry of the chunk, or {@code null} if it has none
+         */
+        @Nullable
+        NbtCompound write(ServerWorld world, ChunkPos chunkPos);
+
+        /**
+         * @param authoritative {@code true} if chunk NBT is the active storage and the entry replaces what is in memory
+         */
+        void read(ServerWorld world, ChunkPos chunkPos, NbtCompound nbt, boolean authoritative);
+
+        /**
+         * Drops the in-memory entry of a chunk after it was saved and unloaded.
+         */
+        void unload(ServerWorld world, ChunkPos chunkPos);
+    }
+
+    private ChunkDataAttachments() {
+    }
+
+    public static void initialize() {
+        ServerChunkEvents.CHUNK_LOAD.register(ChunkDataAttachments::onChunkLoad);
+        ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
+            if (isEnabled()) {
+                for (Attachment attachment : ATTACHMENTS.values()) {
+                    attachment.unload(world, chunk.getPos());
+                }
+            }
+        });
+    }
+
+    public static void register(String key, Attachment attachment) {
+        ATTACHMENTS.put(key, attachment);
+    }
+
+    public static boolean isEnabled() {
+        return CorruptionConfig.getInstance().isStoreInChunks();
+    }
+
+    /**
+     * Flags a loaded chunk for saving after one of its attachments changed. Does nothing when chunk storage is off.
+     */
+    public static void markChunkDirty(ServerWorld world, ChunkPos chunkPos) {
+        if (!isEnabled()) {
+            return;
+        }
+        WorldChunk chunk = world.getChunkManager().getWorldChunk(chunkPos.x, chunkPos.z);
+        if (chunk != null) {
+            chunk.setNeedsSaving(true);
+        } else {
+            AspectsLib.LOGGER.debug("Chunk {} of {} is not loaded, its changed attachments will not be saved",
+                    chunkPos, world.getRegistryKey().getValue());
+        }
+    }
+
+    /**
+     * Called when vanilla serializes a chunk.
+     */
+    public static void writeChunk(ServerWorld world, ChunkPos chunkPos, NbtCompound chunkNbt) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        NbtCompound nbt = new NbtCompound();
+        for (Map.Entry<String, Attachment> entry : ATTACHMENTS.entrySet()) {
+            NbtCompound attachmentNbt = entry.getValue().write(world, chunkPos);
+            if (attachmentNbt != null) {
+                nbt.put(entry.getKey(), attachmentNbt);
+            }
+        }
+        if (!nbt.isEmpty()) {
+            chunkNbt.put(NBT_KEY, nbt);
+        }
+    }
+
+    /**
+     * Called when vanilla deserializes a chunk.
+     */
+    public static void readChunk(Chunk chunk, NbtCompound chunkNbt) {
+        if (chunkNbt.contains(NBT_KEY, NbtElement.COMPOUND_TYPE)) {
+            ((IChunkAttachmentHolder) chunk).aspectslib$setPendingAttachments(chunkNbt.getCompound(NBT_KEY));
+        }
+    }
+
+    private static void onChunkLoad(ServerWorld world, WorldChunk chunk) {
+        IChunkAttachmentHolder holder = (IChunkAttachmentHolder) chunk;
+        NbtCompound nbt = holder.aspectslib$getPendingAttachments();
+        if (nbt == null) {
+            return;
+        }
+        holder.aspectslib$setPendingAttachments(null);
+
+        boolean authoritative = isEnabled();
+        for (Map.Entry<String, Attachment> entry : ATTACHMENTS.entrySet()) {
+            if (nbt.contains(entry.getKey(), NbtElement.COMPOUND_TYPE)) {
+                entry.getValue().read(world, chunk.getPos(), nbt.getCompound(entry.getKey()), authoritative);
+            }
+        }
+        if (!authoritative) {
+            // Resave so the chunk drops the entries now kept in the region states
+            chunk.setNeedsSaving(true);
+        }
+    }
+}
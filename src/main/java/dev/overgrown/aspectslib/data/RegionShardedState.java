@@ -0,0 +1,258 @@
+package dev.overgrown.aspectslib.data;
+
+import dev.overgrown.aspectslib.AspectsLib;
+import dev.overgrown.aspectslib.mixin.PersistentStateManagerAccessor;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.PersistentState;
+import net.minecraft.world.PersistentStateManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Splits a per-world {@link PersistentState} into one state per 32x32 chunk region, the same grid Anvil region
+ * files use. Every shard is its own file and tracks its own dirty flag, so a save only rewrites the regions that
+ * actually changed. Shards are loaded the first time one of their chunks is accessed.
+ * <p>
+ * An index file lists the shards that exist, so reads for chunks without data never touch the disk and
+ * {@link #getAll(ServerWorld)} knows what to load. A state saved under the plain key by older versions is
+ * split into shards once, when the index is created.
+ * </p>
+ * <p>
+ * Shards are released again once none of their chunks is loaded: {@link #onChunkLoad} and {@link #onChunkUnload}
+ * count the loaded chunks of every shard, and {@link #releaseUnused} saves unused shards if they are dirty and
+ * drops them from memory, so memory follows the loaded area instead of every region ever visited.
+ * </p>
+ * <p>
+ * With {@link ChunkDataAttachments} enabled new shards are kept in memory only and are simply dropped when they
+ * are released. Shards saved earlier stay in use and shrink as their chunks are saved into chunk NBT and unloaded.
+ * </p>
+ *
+ * @param <T> the type of the shard state
+ */
+public class RegionShardedState<T extends PersistentState> {
+    private final String key;
+    private final Function<NbtCompound, T> reader;
+    private final Supplier<T> factory;
+    private final Migration<T> migration;
+    private final WorldContext.Key<Shards<T>> contextKey = WorldContext.key(world -> new Shards<>());
+
+    /**
+     * Moves the entries of a legacy single-file state into shards.
+     * Implementations should clear the legacy state and mark it dirty so its data is not kept twice.
+     */
+    @FunctionalInterface
+    public interface Migration<T extends PersistentState> {
+        void migrate(T legacy, Function<ChunkPos, T> shards);
+    }
+
+    public RegionShardedState(String key, Function<NbtCompound, T> reader, Supplier<T> factory, Migration<T> migration) {
+        this.key = key;
+        this.reader = reader;
+        this.factory = factory;
+        this.migration = migration;
+    }
+
+    public static long getShardKey(ChunkPos chunkPos) {
+        return ChunkPos.toLong(chunkPos.getRegionX(), chunkPos.getRegionZ());
+    }
+
+    /**
+     * Returns the shard holding the given chunk, creating it if it does not exist yet.
+     */
+    public T getOrCreate(ServerWorld world, ChunkPos chunkPos) {
+        long shardKey = getShardKey(chunkPos);
+        T shard = getLoaded(world).get(shardKey);
+        if (shard != null) {
+            return shard;
+        }
+
+        if (ChunkDataAttachments.isEnabled() && !getIndex(world).shards.contains(shardKey)) {
+            // Entries live in chunk NBT, the shard only holds them while their chunks are loaded
+            shard = factory.get();
+            Shards<T> shards = WorldContext.get(world, contextKey);
+            shards.loaded.put(shardKey, shard);
+            if (!shards.loadedChunks.containsKey(shardKey)) {
+                shards.releasable.add(shardKey);
+            }
+            return shard;
+        }
+        return getOrCreatePersisted(world, shardKey);
+    }
+
+    /**
+     * Returns the shard holding the given chunk, or {@code null} if no data was ever stored for its region.
+     */
+    public T getIfPresent(ServerWorld world, ChunkPos chunkPos) {
+        long shardKey = getShardKey(chunkPos);
+        T shard = getLoaded(world).get(shardKey);
+        if (shard != null || !getIndex(world).shards.contains(shardKey)) {
+            return shard;
+        }
+        return load(world, shardKey);
+    }
+
+    /**
+     * Loads and returns every shard of the world.
+     */
+    public Collection<T> getAll(ServerWorld world) {
+        ShardIndex index = getIndex(world);
+        Long2ObjectMap<T> loaded = getLoaded(world);
+        List<T> result = new ArrayList<>(index.shards.size());
+        for (LongIterator it = index.shards.iterator(); it.hasNext(); ) {
+            long shardKey = it.nextLong();
+            T shard = loaded.get(shardKey);
+            result.add(shard != null ? shard : load(world, shardKey));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the shards of the world that are currently in memory.
+     */
+    public Collection<T> getAllLoaded(ServerWorld world) {
+        return List.copyOf(getLoaded(world).values());
+    }
+
+    public void onChunkLoad(ServerWorld world, ChunkPos chunkPos) {
+        Shards<T> shards = WorldContext.get(world, contextKey);
+        long shardKey = getShardKey(chunkPos);
+        shards.loadedChunks.addTo(shardKey, 1);
+        shards.releasable.remove(shardKey);
+    }
+
+    public void onChunkUnload(ServerWorld world, ChunkPos chunkPos) {
+        Shards<T> shards = WorldContext.get(world, contextKey);
+        long shardKey = getShardKey(chunkPos);
+        if (shards.loadedChunks.addTo(shardKey, -1) <= 1) {
+            shards.loadedChunks.remove(shardKey);
+            shards.releasable.add(shardKey);
+        }
+    }
+
+    /**
+     * Saves and drops the shards none of whose chunks is loaded. Runs after the chunk unload handlers of a tick,
+     * so they can still update the shard of the chunk they unload.
+     */
+    public void releaseUnused(ServerWorld world) {
+        Shards<T> shards = WorldContext.get(world, contextKey);
+        if (shards.releasable.isEmpty()) {
+            return;
+        }
+
+        PersistentStateManagerAccessor manager = (PersistentStateManagerAccessor) world.getPersistentStateManager();
+        for (LongIterator it = shards.releasable.iterator(); it.hasNext(); ) {
+            long shardKey = it.nextLong();
+            T shard = shards.loaded.remove(shardKey);
+            if (shard != null && getIndex(world).shards.contains(shardKey)) {
+                String name = getShardName(shardKey);
+                shard.save(manager.aspectslib$getFile(name));
+                manager.aspectslib$getLoadedStates().remove(name);
+            }
+        }
+        shards.releasable.clear();
+    }
+
+    /**
+     * Forgets the shards of a world, called when the world unloads.
+     */
+    public void unload(ServerWorld world) {
+        WorldContext.get(world).remove(contextKey);
+    }
+
+    private T getOrCreatePersisted(ServerWorld world, long shardKey) {
+        T shard = getLoaded(world).get(shardKey);
+        if (shard != null) {
+            return shard;
+        }
+        ShardIndex index = getIndex(world);
+        if (index.shards.add(shardKey)) {
+            index.markDirty();
+        }
+        return load(world, shardKey);
+    }
+
+    private Long2ObjectMap<T> getLoaded(ServerWorld world) {
+        return WorldContext.get(world, contextKey).loaded;
+    }
+
+    private T load(ServerWorld world, long shardKey) {
+        T shard = world.getPersistentStateManager().getOrCreate(reader, factory, getShardName(shardKey));
+        Shards<T> shards = WorldContext.get(world, contextKey);
+        shards.loaded.put(shardKey, shard);
+        if (!shards.loadedChunks.containsKey(shardKey)) {
+            // Loaded for a chunk that is not loaded, e.g. by getAll, released again at the end of the tick
+            shards.releasable.add(shardKey);
+        }
+        return shard;
+    }
+
+    private String getShardName(long shardKey) {
+        return key + "_r." + ChunkPos.getPackedX(shardKey) + "." + ChunkPos.getPackedZ(shardKey);
+    }
+
+    private ShardIndex getIndex(ServerWorld world) {
+        Shards<T> shards = WorldContext.get(world, contextKey);
+        ShardIndex index = shards.index;
+        if (index != null) {
+            return index;
+        }
+
+        PersistentStateManager manager = world.getPersistentStateManager();
+        index = manager.get(ShardIndex::fromNbt, key + "_index");
+        if (index != null) {
+            shards.index = index;
+            return index;
+        }
+
+        index = new ShardIndex();
+        manager.set(key + "_index", index);
+        index.markDirty();
+        // Registered before migrating so the shards created by the migration land in this index
+        shards.index = index;
+
+        T legacy = manager.get(reader, key);
+        if (legacy != null) {
+            AspectsLib.LOGGER.info("Splitting {} of {} into region shards", key, world.getRegistryKey().getValue());
+            migration.migrate(legacy, chunkPos -> getOrCreatePersisted(world, getShardKey(chunkPos)));
+        }
+        return index;
+    }
+
+    private static class Shards<T> {
+        private final Long2ObjectMap<T> loaded = new Long2ObjectOpenHashMap<>();
+        private final Long2IntMap loadedChunks = new Long2IntOpenHashMap();
+        private final LongSet releasable = new LongOpenHashSet();
+        private ShardIndex index;
+    }
+
+    private static class ShardIndex extends PersistentState {
+        private final LongSet shards = new LongOpenHashSet();
+
+        @Override
+        public NbtCompound writeNbt(NbtCompound nbt) {
+            nbt.putLongArray("Shards", shards.toLongArray());
+            return nbt;
+        }
+
+        private static ShardIndex fromNbt(NbtCompound nbt) {
+            ShardIndex index = new ShardIndex();
+            for (long shardKey : nbt.getLongArray("Shards")) {
+                index.shards.add(shardKey);
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package dev.overgrown.aspectslib.data;
+
+import dev.overgrown.aspectslib.api.IWorldContextHolder;
+import net.minecraft.server.world.ServerWorld;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Per-world values resolved once and attached to the {@link ServerWorld} itself, so hot paths fetch them with an
+ * array index instead of registry key, dimension id or persistent state name lookups.
+ * <p>
+ * Values are declared with {@link #key(Function)} and created on first access. They live as long as the world.
+ * </p>
+ */
+public final class WorldContext {
+    private static int nextSlot;
+
+    private final ServerWorld world;
+    private Object[] values = new Object[nextSlot];
+
+    public static final class Key<T> {
+        private final int slot;
+        private final Function<ServerWorld, T> factory;
+
+        private Key(int slot, Function<ServerWorld, T> factory) {
+            this.slot = slot;
+            this.factory = factory;
+        }
+    }
+
+    public WorldContext(ServerWorld world) {
+        this.world = world;
+    }
+
+    public static synchronized <T> Key<T> key(Function<ServerWorld, T> factory) {
+        return new Key<>(nextSlot++, factory);
+    }
+
+    public static WorldContext get(ServerWorld world) {
+        return ((IWorldContextHolder) world).aspectslib$getWorldContext();
+    }
+
+    public static <T> T get(ServerWorld world, Key<T> key) {
+        return get(world).get(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key<T> key) {
+        if (key.slot >= values.length) {
+            values = Arrays.copyOf(values, key.slot + 1);
+        }
+        Object value = values[key.slot];
+        if (value == null) {
+            value = key.factory.apply(world);
+            values[key.slot] = value;
+        }
+        return (T) value;
+    }
+
+    /**
+     * Drops a value so it is created again on the next access.
+     */
+    public void remove(Key<?> key) {
+        if (key.slot < values.length) {
+            values[key.slot] = null;
+        }
+    }
+}
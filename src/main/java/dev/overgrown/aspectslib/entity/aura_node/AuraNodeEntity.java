@@ -17,6 +17,7 @@ import net.minecraft.entity.data.TrackedDataHandlerRegistry;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtElement;
 import net.minecraft.nbt.NbtList;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.random.Random;
 import net.minecraft.world.World;
@@ -29,9 +30,6 @@ public class AuraNodeEntity extends Entity {
         NORMAL, PURE, SINISTER, UNSTABLE, HUNGRY
     }
 
-    // Regeneration accumulators
-    private final Map<Identifier, Float> regenAccumulators = new HashMap<>();
-
     // Aspect state storage
     public static class AspectState {
         public int original;
@@ -53,14 +51,33 @@ public class AuraNodeEntity extends Entity {
     private static final TrackedData<Integer> NODE_TYPE = DataTracker.registerData(AuraNodeEntity.class, TrackedDataHandlerRegistry.INTEGER);
     private static final TrackedData<NbtCompound> ASPECTS_NBT = DataTracker.registerData(AuraNodeEntity.class, TrackedDataHandlerRegistry.NBT_COMPOUND);
 
+    // Base regeneration rate per tick (0.1% per second)
+    private static final float BASE_REGEN_RATE = 0.00005f;
+
     // Aspect identifiers
     public static final Identifier FAMES_ASPECT = AspectsLib.identifier("fames");
     public static final Identifier VITIUM_ASPECT = AspectsLib.identifier("vitium");
 
-    private Map<Identifier, AspectState> aspects = new HashMap<>();
+    private static final Identifier[] NO_ASPECTS = new Identifier[0];
+    private static final int[] NO_AMOUNTS = new int[0];
+    private static final float[] NO_ACCUMULATORS = new float[0];
+
+    // Parallel arrays, the first aspectCount slots are in use. A node holds at most a handful of aspects
+    private Identifier[] aspectIds = NO_ASPECTS;
+    private int[] originalAmounts = NO_AMOUNTS;
+    private int[] currentAmounts = NO_AMOUNTS;
+    private float[] regenAccumulators = NO_ACCUMULATORS;
+    private int aspectCount;
     private int instabilityCounter = 0;
     private int hungerCounter = 0;
     private int sinisterCounter = 0;
+    private int resonanceCheckCounter = 0;
+    // World time regeneration was last applied at, -1 until first evaluated
+    private long lastRegenTime = -1;
+    // Slot in the AuraNodeManager of the world, -1 while not ticking
+    int managerSlot = -1;
+    // Whether the node is loaded in its world, only loaded nodes are woken up
+    boolean loaded;
 
     public AuraNodeEntity(EntityType<?> type, World world) {
         super(type, world);
@@ -78,235 +95,253 @@ public class AuraNodeEntity extends Entity {
     public void tick() {
         super.tick();
 
-        if (!this.getWorld().isClient()) {
-            // Natural regeneration for aspects
-            regenerateAspects();
+        // Node behavior runs in batches through AuraNodeManager, the entity only keeps its index entry current
+        if (this.getWorld() instanceof ServerWorld serverWorld) {
+            AuraNodeIndex.get(serverWorld).update(this);
+        }
+    }
+
+    /**
+     * Advances the node by the ticks elapsed since its last batch, called by {@link AuraNodeManager}.
+     *
+     * @return whether the node still needs ticking, see {@link #isDormant()}
+     */
+    boolean tickNode(int elapsedTicks) {
+        // Natural regeneration for aspects
+        applyRegeneration();
+
+        // Hungry nodes feed on their other aspects, only over the ticks since the last batch
+        if (getNodeType() == NodeType.HUNGRY) {
+            consumeHungry(BASE_REGEN_RATE * Math.min(elapsedTicks, AuraNodeManager.TICK_INTERVAL));
+        }
 
-            // Remove aspects that have been drained to 0
-            removeDrainedAspects();
+        // Remove aspects that have been drained to 0
+        removeDrainedAspects();
 
-            // Check if node should die
-            if (aspects.isEmpty()) {
-//                this.discard();
-                return;
-            }
+        // Check if node should die
+        if (aspectCount == 0) {
+//            this.discard();
+            return false;
+        }
 
-            // Type-specific behaviors
-            switch (getNodeType()) {
-                case SINISTER:
-                    handleSinisterBehavior();
-                    break;
-                case HUNGRY:
-                    handleHungryBehavior();
-                    break;
-                case UNSTABLE:
-                    handleUnstableBehavior();
-                    break;
-            }
+        // Type-specific behaviors
+        switch (getNodeType()) {
+            case SINISTER:
+                handleSinisterBehavior(elapsedTicks);
+                break;
+            case HUNGRY:
+                handleHungryBehavior(elapsedTicks);
+                break;
+            case UNSTABLE:
+                handleUnstableBehavior(elapsedTicks);
+                break;
+        }
+
+        // Batches run about once a second, the same cadence the tracked data used to refresh at
+        updateTrackedAspects();
+        return !isDormant();
+    }
+
+    /**
+     * Brings the per-aspect regeneration up to the current world time. Each aspect regenerates linearly with elapsed
+     * time, so any gap, including time the node spent unloaded, is covered in one step. Only changes the node's own
+     * aspects, so observing a node has no other side effects.
+     */
+    private void applyRegeneration() {
+        if (getWorld().isClient()) return;
+
+        long now = getWorld().getTime();
+        if (lastRegenTime < 0) {
+            lastRegenTime = now;
+            return;
+        }
+        long elapsed = now - lastRegenTime;
+        if (elapsed <= 0) return;
 
-            // Update tracked data periodically
-            if (this.age % 20 == 0) {
-                updateTrackedAspects();
+        lastRegenTime = now;
+        regenerateAspects((int) Math.min(elapsed, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Whether the node has nothing to do until it is drained: it is full and its type has no periodic behavior.
+     */
+    boolean isDormant() {
+        NodeType type = getNodeType();
+        if (type != NodeType.NORMAL && type != NodeType.PURE) {
+            return false;
+        }
+        for (int i = 0; i < aspectCount; i++) {
+            if (currentAmounts[i] < originalAmounts[i]) {
+                return false;
             }
         }
+        return true;
+    }
+
+    private void wake() {
+        if (getWorld() instanceof ServerWorld serverWorld) {
+            AuraNodeManager.get(serverWorld).wake(this);
+        }
     }
 
     public int getRenderColour() {
         return 0xFFAA6655; // This a packed ARGB integer
     }
 
-    private void regenerateAspects() {
-        // Base regeneration rate (0.1% per second)
-        final float BASE_REGEN_RATE = 0.00005f; // Much slower rate
+    private void regenerateAspects(int elapsedTicks) {
+        // Every rate is per tick, scaling it covers all elapsed ticks at once
+        float rate = BASE_REGEN_RATE * elapsedTicks;
 
         switch (getNodeType()) {
-            case NORMAL, PURE -> regenerateStandard(BASE_REGEN_RATE);
-            case SINISTER -> regenerateSinister(BASE_REGEN_RATE);
-            case UNSTABLE -> regenerateUnstable(BASE_REGEN_RATE);
-            case HUNGRY -> regenerateHungry(BASE_REGEN_RATE);
+            case NORMAL, PURE -> regenerateStandard(rate);
+            case SINISTER -> regenerateSinister(rate);
+            case UNSTABLE -> regenerateUnstable(rate);
+            case HUNGRY -> {
+                // Hungry nodes do not regenerate, they consume, see consumeHungry
+            }
         }
     }
 
     private void regenerateStandard(float baseRate) {
-        for (Map.Entry<Identifier, AspectState> entry : aspects.entrySet()) {
-            regenerateAspect(entry.getKey(), entry.getValue(), baseRate);
+        for (int i = 0; i < aspectCount; i++) {
+            regenerateAspect(i, baseRate);
         }
     }
 
     private void regenerateSinister(float baseRate) {
-        for (Map.Entry<Identifier, AspectState> entry : aspects.entrySet()) {
+        for (int i = 0; i < aspectCount; i++) {
             float rate = baseRate;
-            if (entry.getKey().equals(VITIUM_ASPECT)) {
+            if (aspectIds[i].equals(VITIUM_ASPECT)) {
                 rate *= 1.5f; // Vitium regenerates 50% faster
             }
-            regenerateAspect(entry.getKey(), entry.getValue(), rate);
-        }
-
-        // Handle sinister corruption
-        sinisterCounter++;
-        if (sinisterCounter >= 100) { // Every 5 seconds
-            sinisterCounter = 0;
-            RegistryEntry<Biome> biomeEntry = getWorld().getBiome(getBlockPos());
-            Identifier biomeId = biomeEntry.getKey().map(RegistryKey::getValue).orElse(null);
-
-            if (biomeId != null) {
-                AspectData currentBiomeAspects = BiomeAspectRegistry.get(biomeId);
-                if (!currentBiomeAspects.isEmpty()) {
-                    AspectData.Builder builder = new AspectData.Builder(currentBiomeAspects);
-                    builder.add(VITIUM_ASPECT, 10); // Add Vitium to biome
-                    BiomeAspectRegistry.update(biomeId, builder.build());
-                }
-            }
+            regenerateAspect(i, rate);
         }
     }
 
     private void regenerateUnstable(float baseRate) {
-        for (Map.Entry<Identifier, AspectState> entry : aspects.entrySet()) {
-            regenerateAspect(entry.getKey(), entry.getValue(), baseRate * 0.8f);
+        for (int i = 0; i < aspectCount; i++) {
+            regenerateAspect(i, baseRate * 0.8f);
         }
     }
 
-    private void regenerateHungry(float baseRate) {
-        AspectState famesState = aspects.get(FAMES_ASPECT);
-        if (famesState == null) return;
-
-        // If Fames isn't full, consume other aspects
-        if (famesState.current < famesState.original) {
-            float totalConsumed = 0;
-            List<Identifier> toRemove = new ArrayList<>();
+    /**
+     * Hungry nodes drain their other aspects into Fames. Which mode applies depends on whether Fames is full, so this
+     * only runs over the short gap of one batch and never over time spent unloaded.
+     */
+    private void consumeHungry(float baseRate) {
+        int fames = indexOf(FAMES_ASPECT);
+        if (fames == -1) return;
 
-            for (Map.Entry<Identifier, AspectState> entry : aspects.entrySet()) {
-                if (entry.getKey().equals(FAMES_ASPECT)) continue;
+        // Other aspects are consumed at 0.2% per tick while Fames isn't full, and at 0.4% once it is
+        boolean famesFull = currentAmounts[fames] >= originalAmounts[fames];
+        float consumeRate = baseRate * (famesFull ? 8 : 4);
+        float totalConsumed = 0;
 
-                AspectState state = entry.getValue();
-                if (state.current <= 0) {
-                    toRemove.add(entry.getKey());
-                    continue;
-                }
-
-                // Calculate consumption (0.2% per tick)
-                float consumeAmount = state.original * baseRate * 4;
-                float available = Math.min(consumeAmount, state.current);
-
-                state.current -= (int) available;
-                totalConsumed += available;
+        for (int i = 0; i < aspectCount; i++) {
+            if (i == fames || currentAmounts[i] <= 0) continue;
 
-                if (state.current <= 0) {
-                    toRemove.add(entry.getKey());
-                }
-            }
+            float consumeAmount = originalAmounts[i] * consumeRate;
+            float available = Math.min(consumeAmount, currentAmounts[i]);
 
-            // Add consumed aspects to Fames
-            if (totalConsumed > 0) {
-                famesState.current = (int) Math.min(
-                        famesState.original,
-                        famesState.current + totalConsumed
-                );
-            }
-
-            // Remove consumed aspects
-            for (Identifier id : toRemove) {
-                aspects.remove(id);
-            }
-        } else {
-            // If Fames is full, consume other aspects aggressively
-            float totalConsumed = 0;
-            List<Identifier> toRemove = new ArrayList<>();
-
-            for (Map.Entry<Identifier, AspectState> entry : aspects.entrySet()) {
-                if (entry.getKey().equals(FAMES_ASPECT)) continue;
-
-                AspectState state = entry.getValue();
-                if (state.current <= 0) {
-                    toRemove.add(entry.getKey());
-                    continue;
-                }
-
-                // More aggressive consumption (0.4% per tick)
-                float consumeAmount = state.original * baseRate * 8;
-                float available = Math.min(consumeAmount, state.current);
-
-                state.current -= (int) available;
-                totalConsumed += available;
-
-                if (state.current <= 0) {
-                    toRemove.add(entry.getKey());
-                }
-            }
-
-            // Add consumed aspects to Fames (making it stronger)
-            if (totalConsumed > 0) {
-                famesState.original += (int) totalConsumed; // Make Fames stronger
-                famesState.current = famesState.original;
-            }
+            currentAmounts[i] -= (int) available;
+            totalConsumed += available;
+        }
 
-            // Remove consumed aspects
-            for (Identifier id : toRemove) {
-                aspects.remove(id);
+        if (totalConsumed > 0) {
+            if (famesFull) {
+                // Add consumed aspects to Fames (making it stronger)
+                originalAmounts[fames] += (int) totalConsumed;
+                currentAmounts[fames] = originalAmounts[fames];
+            } else {
+                currentAmounts[fames] = (int) Math.min(originalAmounts[fames], currentAmounts[fames] + totalConsumed);
             }
         }
 
-        // If only Fames remains, and it's full, start consuming itself
-        if (aspects.size() == 1 && aspects.containsKey(FAMES_ASPECT) &&
-                famesState.current >= famesState.original) {
+        // Remove consumed aspects
+        removeDrainedAspects();
 
+        // If only Fames remains, and it's full, start consuming itself
+        if (aspectCount == 1 && aspectIds[0].equals(FAMES_ASPECT) && currentAmounts[0] >= originalAmounts[0]) {
             // Self-consumption (0.1% per tick)
-            float consumeAmount = famesState.original * baseRate * 2;
-            famesState.current = Math.max(0, famesState.current - (int) consumeAmount);
-
-            if (famesState.current <= 0) {
-                aspects.remove(FAMES_ASPECT);
-            }
+            float consumeAmount = originalAmounts[0] * baseRate * 2;
+            currentAmounts[0] = Math.max(0, currentAmounts[0] - (int) consumeAmount);
         }
     }
 
-    private void regenerateAspect(Identifier aspectId, AspectState state, float rate) {
-        if (state.current >= state.original) return;
+    private void regenerateAspect(int index, float rate) {
+        int original = originalAmounts[index];
+        int current = currentAmounts[index];
+        if (current >= original) return;
 
-        // Get or create accumulator
-        float accumulator = regenAccumulators.getOrDefault(aspectId, 0f);
-
-        // Add this tick's regeneration
-        float regenThisTick = state.original * rate;
-        accumulator += regenThisTick;
-
-        // Convert accumulated value to integer
+        // Accumulate fractional regeneration until it adds up to whole points
+        float accumulator = regenAccumulators[index] + original * rate;
         int toAdd = (int) accumulator;
         if (toAdd > 0) {
-            int newCurrent = state.current + toAdd;
-            if (newCurrent > state.original) {
-                toAdd = state.original - state.current;
-                newCurrent = state.original;
-            }
-
-            state.current = newCurrent;
+            toAdd = Math.min(toAdd, original - current);
+            currentAmounts[index] = current + toAdd;
             accumulator -= toAdd;
+        }
+        regenAccumulators[index] = accumulator;
+    }
 
-            // Debug logging
-            AspectsLib.LOGGER.debug("Regenerated {}: {}/{} (+{})",
-                    aspectId, state.current, state.original, toAdd);
+    private int indexOf(Identifier aspectId) {
+        for (int i = 0; i < aspectCount; i++) {
+            if (aspectIds[i].equals(aspectId)) {
+                return i;
+            }
         }
+        return -1;
+    }
 
-        // Store remaining fraction
-        regenAccumulators.put(aspectId, accumulator);
+    private void putAspect(Identifier aspectId, int original, int current) {
+        int index = indexOf(aspectId);
+        if (index == -1) {
+            if (aspectCount == aspectIds.length) {
+                int capacity = Math.max(4, aspectCount * 2);
+                aspectIds = Arrays.copyOf(aspectIds, capacity);
+                originalAmounts = Arrays.copyOf(originalAmounts, capacity);
+                currentAmounts = Arrays.copyOf(currentAmounts, capacity);
+                regenAccumulators = Arrays.copyOf(regenAccumulators, capacity);
+            }
+            index = aspectCount++;
+            aspectIds[index] = aspectId;
+            regenAccumulators[index] = 0;
+        }
+        originalAmounts[index] = original;
+        currentAmounts[index] = current;
+    }
+
+    /**
+     * Moves the last aspect into the removed slot, slot order carries no meaning.
+     */
+    private void removeAspect(int index) {
+        int last = --aspectCount;
+        aspectIds[index] = aspectIds[last];
+        originalAmounts[index] = originalAmounts[last];
+        currentAmounts[index] = currentAmounts[last];
+        regenAccumulators[index] = regenAccumulators[last];
+        aspectIds[last] = null;
+    }
+
+    private void clearAspects() {
+        Arrays.fill(aspectIds, 0, aspectCount, null);
+        aspectCount = 0;
     }
 
     private void removeDrainedAspects() {
-        List<Identifier> toRemove = new ArrayList<>();
-        for (Map.Entry<Identifier, AspectState> entry : aspects.entrySet()) {
-            if (entry.getValue().current <= 0) {
-                toRemove.add(entry.getKey());
+        // Backwards, so the aspect moved into a removed slot has already been checked
+        for (int i = aspectCount - 1; i >= 0; i--) {
+            if (currentAmounts[i] <= 0) {
+                removeAspect(i);
             }
         }
-        for (Identifier id : toRemove) {
-            aspects.remove(id);
-        }
     }
 
-    private void handleSinisterBehavior() {
-        sinisterCounter++;
-        if (sinisterCounter >= 100) { // Every 5 seconds
-            sinisterCounter = 0;
+    private void handleSinisterBehavior(int elapsedTicks) {
+        // Leftover ticks carry over so batched ticking keeps the 50 tick cadence
+        sinisterCounter += elapsedTicks;
+        if (sinisterCounter >= 50) { // Every 2.5 seconds
+            sinisterCounter %= 50;
             RegistryEntry<Biome> biomeEntry = getWorld().getBiome(getBlockPos());
             Identifier biomeId = biomeEntry.getKey().map(RegistryKey::getValue).orElse(null);
 
@@ -317,8 +352,8 @@ public class AuraNodeEntity extends Entity {
         }
     }
 
-    private void handleHungryBehavior() {
-        hungerCounter++;
+    private void handleHungryBehavior(int elapsedTicks) {
+        hungerCounter += elapsedTicks;
 
         // Consume every 10 seconds (200 ticks)
         if (hungerCounter >= 200) {
@@ -327,30 +362,25 @@ public class AuraNodeEntity extends Entity {
             Identifier biomeId = biomeEntry.getKey().map(RegistryKey::getValue).orElse(null);
 
             // Phase 1: Consume other aspects in the node
-            if (aspects.size() > 1) {
-                List<Identifier> nonFamesAspects = new ArrayList<>();
-                for (Identifier id : aspects.keySet()) {
-                    if (!id.equals(FAMES_ASPECT)) {
-                        nonFamesAspects.add(id);
-                    }
-                }
-
-                if (!nonFamesAspects.isEmpty()) {
-                    Identifier target = nonFamesAspects.get(getWorld().getRandom().nextInt(nonFamesAspects.size()));
-                    AspectState state = aspects.get(target);
+            int fames = indexOf(FAMES_ASPECT);
+            if (aspectCount > 1) {
+                int nonFamesCount = fames != -1 ? aspectCount - 1 : aspectCount;
+                if (nonFamesCount > 0) {
+                    int pick = getWorld().getRandom().nextInt(nonFamesCount);
+                    int target = fames != -1 && pick >= fames ? pick + 1 : pick;
 
                     // Consume 10% of the aspect
-                    int consumeAmount = Math.max(1, state.current / 10);
-                    state.current -= consumeAmount;
+                    int consumeAmount = Math.max(1, currentAmounts[target] / 10);
+                    currentAmounts[target] -= consumeAmount;
 
                     // If completely drained, remove with 10% chance
-                    if (state.current <= 0 && getWorld().getRandom().nextFloat() < 0.1f) {
-                        aspects.remove(target);
+                    if (currentAmounts[target] <= 0 && getWorld().getRandom().nextFloat() < 0.1f) {
+                        removeAspect(target);
                     }
                 }
             }
             // Phase 2: Consume from environment
-            else if (aspects.containsKey(FAMES_ASPECT) && biomeId != null) {
+            else if (fames != -1 && biomeId != null) {
                 // Drain from all aspects in the biome
                 AspectData currentBiomeAspects = BiomeAspectRegistry.get(biomeId);
                 if (!currentBiomeAspects.isEmpty()) {
@@ -365,10 +395,9 @@ public class AuraNodeEntity extends Entity {
                     AspectsLib.LOGGER.debug("Hungry node draining environment at {}", this.getBlockPos());
                 }
 
-                AspectState famesState = aspects.get(FAMES_ASPECT);
-                if (famesState.current > 0) {
-                    famesState.current = Math.max(0, famesState.current - 10);
-                    if (famesState.current <= 0) {
+                if (currentAmounts[fames] > 0) {
+                    currentAmounts[fames] = Math.max(0, currentAmounts[fames] - 10);
+                    if (currentAmounts[fames] <= 0) {
                         this.discard();
                     }
                 }
@@ -376,13 +405,15 @@ public class AuraNodeEntity extends Entity {
         }
     }
 
-    private void handleUnstableBehavior() {
+    private void handleUnstableBehavior(int elapsedTicks) {
         // Check for opposing resonance every 5 seconds (100 ticks)
-        if (this.age % 100 == 0) {
+        resonanceCheckCounter += elapsedTicks;
+        if (resonanceCheckCounter >= 100) {
+            resonanceCheckCounter = 0;
             // Create AspectData for resonance calculation
-            Object2IntOpenHashMap<Identifier> aspectMap = new Object2IntOpenHashMap<>();
-            for (Map.Entry<Identifier, AspectState> entry : aspects.entrySet()) {
-                aspectMap.put(entry.getKey(), entry.getValue().current);
+            Object2IntOpenHashMap<Identifier> aspectMap = new Object2IntOpenHashMap<>(aspectCount);
+            for (int i = 0; i < aspectCount; i++) {
+                aspectMap.put(aspectIds[i], currentAmounts[i]);
             }
 
             ResonanceCalculator.ResonanceResult result = ResonanceCalculator.calculate(new AspectData(aspectMap));
@@ -403,11 +434,11 @@ public class AuraNodeEntity extends Entity {
 
     private void updateTrackedAspects() {
         NbtCompound aspectsNbt = new NbtCompound();
-        for (Map.Entry<Identifier, AspectState> entry : aspects.entrySet()) {
+        for (int i = 0; i < aspectCount; i++) {
             NbtCompound stateNbt = new NbtCompound();
-            stateNbt.putInt("Original", entry.getValue().original);
-            stateNbt.putInt("Current", entry.getValue().current);
-            aspectsNbt.put(entry.getKey().toString(), stateNbt);
+            stateNbt.putInt("Original", originalAmounts[i]);
+            stateNbt.putInt("Current", currentAmounts[i]);
+            aspectsNbt.put(aspectIds[i].toString(), stateNbt);
         }
         this.dataTracker.set(ASPECTS_NBT, aspectsNbt);
     }
@@ -417,41 +448,38 @@ public class AuraNodeEntity extends Entity {
         // Read node type
         this.setNodeType(NodeType.values()[nbt.getByte("NodeType")]);
 
-        // Read aspects - Create AspectState with correct current value
-        aspects.clear();
+        // Read aspects
+        clearAspects();
         NbtList aspectsList = nbt.getList("Aspects", NbtElement.COMPOUND_TYPE);
         for (NbtElement element : aspectsList) {
             NbtCompound aspectNbt = (NbtCompound) element;
             Identifier id = new Identifier(aspectNbt.getString("Id"));
-            int original = aspectNbt.getInt("Original");
-            int current = aspectNbt.getInt("Current");
-
-            // Create AspectState with proper current value
-            AspectState state = new AspectState(original);
-            state.current = current;
-            aspects.put(id, state);
+            putAspect(id, aspectNbt.getInt("Original"), aspectNbt.getInt("Current"));
         }
 
         instabilityCounter = nbt.getInt("Instability");
         hungerCounter = nbt.getInt("HungerCounter");
+        lastRegenTime = nbt.contains("LastRegenTime", NbtElement.LONG_TYPE) ? nbt.getLong("LastRegenTime") : -1;
     }
 
     @Override
     public void writeCustomDataToNbt(NbtCompound nbt) {
+        applyRegeneration();
         nbt.putByte("NodeType", (byte) getNodeType().ordinal());
 
         NbtList aspectsList = new NbtList();
-        for (Map.Entry<Identifier, AspectState> entry : aspects.entrySet()) {
+        for (int i = 0; i < aspectCount; i++) {
             NbtCompound aspectNbt = new NbtCompound();
-            aspectNbt.putString("Id", entry.getKey().toString());
-            aspectNbt.putInt("Original", entry.getValue().original);
-            aspectNbt.putInt("Current", entry.getValue().current);
+            aspectNbt.putString("Id", aspectIds[i].toString());
+            aspectNbt.putInt("Original", originalAmounts[i]);
+            aspectNbt.putInt("Current", currentAmounts[i]);
             aspectsList.add(aspectNbt);
         }
         nbt.put("Aspects", aspectsList);
 
         nbt.putInt("Instability", instabilityCounter);
         nbt.putInt("HungerCounter", hungerCounter);
+        nbt.putLong("LastRegenTime", lastRegenTime);
     }
 
     protected void readCustomDataFromTrackedData() {
@@ -459,15 +487,10 @@ public class AuraNodeEntity extends Entity {
 
         // Update aspects from tracked data
         NbtCompound aspectsNbt = dataTracker.get(ASPECTS_NBT);
-        aspects.clear();
+        clearAspects();
         for (String key : aspectsNbt.getKeys()) {
-            Identifier id = new Identifier(key);
             NbtCompound stateNbt = aspectsNbt.getCompound(key);
-            int original = stateNbt.getInt("Original");
-            int current = stateNbt.getInt("Current");
-            aspects.put(id, new AspectState(original) {{
-                this.current = current;
-            }});
+            putAspect(new Identifier(key), stateNbt.getInt("Original"), stateNbt.getInt("Current"));
         }
     }
 
@@ -478,34 +501,75 @@ public class AuraNodeEntity extends Entity {
 
     public void setNodeType(NodeType type) {
         dataTracker.set(NODE_TYPE, type.ordinal());
+        wake();
     }
 
+    /**
+     * Returns a copy of the node's aspects, changes to the returned states do not affect the node.
+     */
     public Map<Identifier, AspectState> getAspects() {
-        return Collections.unmodifiableMap(aspects);
+        applyRegeneration();
+        Map<Identifier, AspectState> result = new HashMap<>(aspectCount);
+        for (int i = 0; i < aspectCount; i++) {
+            AspectState state = new AspectState(originalAmounts[i]);
+            state.current = currentAmounts[i];
+            result.put(aspectIds[i], state);
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    public boolean hasAspects() {
+        return aspectCount > 0;
     }
 
     public void setAspects(Map<Identifier, AspectState> aspects) {
-        this.aspects = new HashMap<>(aspects);
+        clearAspects();
+        for (Map.Entry<Identifier, AspectState> entry : aspects.entrySet()) {
+            putAspect(entry.getKey(), entry.getValue().original, entry.getValue().current);
+        }
+        updateTrackedAspects();
+        wake();
+    }
+
+    /**
+     * Drains up to the given amount of an aspect and returns how much was actually drained.
+     */
+    public int drainAspect(Identifier aspectId, int amount) {
+        applyRegeneration();
+        int index = indexOf(aspectId);
+        if (index == -1 || amount <= 0) {
+            return 0;
+        }
+
+        int drained = Math.min(amount, currentAmounts[index]);
+        currentAmounts[index] -= drained;
         updateTrackedAspects();
+        wake();
+        return drained;
     }
 
     public void initializeAspects(Random random) {
-        aspects.clear();
+        clearAspects();
+        lastRegenTime = getWorld().getTime();
 
         switch (getNodeType()) {
             case PURE:
                 // Pure node has only one aspect
                 Identifier aspect = getRandomAspect(random, 0.95f); // 95% chance for primal
-                aspects.put(aspect, new AspectState(random.nextInt(100) + 50));
+                int amount = random.nextInt(100) + 50;
+                putAspect(aspect, amount, amount);
                 break;
 
             case HUNGRY:
                 // Hungry node always has Fames
-                aspects.put(FAMES_ASPECT, new AspectState(random.nextInt(100) + 50));
+                int famesAmount = random.nextInt(100) + 50;
+                putAspect(FAMES_ASPECT, famesAmount, famesAmount);
 
                 // 50% chance to have one additional aspect
                 if (random.nextBoolean()) {
-                    aspects.put(getRandomAspect(random, 0.9f), new AspectState(random.nextInt(100) + 50));
+                    Identifier extra = getRandomAspect(random, 0.9f);
+                    int extraAmount = random.nextInt(100) + 50;
+                    putAspect(extra, extraAmount, extraAmount);
                 }
                 break;
 
@@ -514,7 +578,8 @@ public class AuraNodeEntity extends Entity {
                 int count = random.nextInt(4) + 1;
                 for (int i = 0; i < count; i++) {
                     Identifier newAspect = getRandomAspect(random, 0.8f); // 80% chance for primal
-                    aspects.put(newAspect, new AspectState(random.nextInt(100) + 50));
+                    int newAmount = random.nextInt(100) + 50;
+                    putAspect(newAspect, newAmount, newAmount);
                 }
         }
 
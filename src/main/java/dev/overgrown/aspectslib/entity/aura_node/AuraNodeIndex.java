@@ -0,0 +1,187 @@
+package dev.overgrown.aspectslib.entity.aura_node;
+
+import dev.overgrown.aspectslib.data.WorldContext;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Server-side index of the loaded {@link AuraNodeEntity} instances of each world, bucketed by chunk.
+ * <p>
+ * Nodes are added when they load and removed when they unload or are discarded. A node that crosses into another
+ * chunk moves buckets on its next tick. Queries only visit the chunks their radius covers instead of asking the
+ * world for entities in a box.
+ * </p>
+ */
+public class AuraNodeIndex {
+    private static final WorldContext.Key<AuraNodeIndex> INDEX = WorldContext.key(world -> new AuraNodeIndex());
+
+    private final Long2ObjectMap<List<AuraNodeEntity>> byChunk = new Long2ObjectOpenHashMap<>();
+    private final Reference2LongMap<AuraNodeEntity> indexedChunks = new Reference2LongOpenHashMap<>();
+
+    public static void initialize() {
+        ServerEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+            if (entity instanceof AuraNodeEntity node) {
+                get(world).add(node);
+            }
+        });
+        ServerEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+            if (entity instanceof AuraNodeEntity node) {
+                get(world).remove(node);
+            }
+        });
+    }
+
+    public static AuraNodeIndex get(ServerWorld world) {
+        return WorldContext.get(world, INDEX);
+    }
+
+    private void add(AuraNodeEntity node) {
+        long chunk = node.getChunkPos().toLong();
+        indexedChunks.put(node, chunk);
+        byChunk.computeIfAbsent(chunk, k -> new ArrayList<>(2)).add(node);
+    }
+
+    private void remove(AuraNodeEntity node) {
+        if (!indexedChunks.containsKey(node)) {
+            return;
+        }
+        removeFromBucket(node, indexedChunks.removeLong(node));
+    }
+
+    private void removeFromBucket(AuraNodeEntity node, long chunk) {
+        List<AuraNodeEntity> bucket = byChunk.get(chunk);
+        if (bucket != null) {
+            bucket.remove(node);
+            if (bucket.isEmpty()) {
+                byChunk.remove(chunk);
+            }
+        }
+    }
+
+    /**
+     * Moves a node to the bucket of the chunk it is in now, called every tick by the node itself.
+     */
+    void update(AuraNodeEntity node) {
+        if (!indexedChunks.containsKey(node)) {
+            return;
+        }
+        long chunk = node.getChunkPos().toLong();
+        long indexed = indexedChunks.getLong(node);
+        if (chunk != indexed) {
+            removeFromBucket(node, indexed);
+            indexedChunks.put(node, chunk);
+            byChunk.computeIfAbsent(chunk, k -> new ArrayList<>(2)).add(node);
+        }
+    }
+
+    /**
+     * Returns the nodes within the radius around the center.
+     */
+    public List<AuraNodeEntity> getNodesInRadius(Vec3d center, double radius) {
+        return getNodesInRadius(center, radius, node -> true);
+    }
+
+    public List<AuraNodeEntity> getNodesInRadius(Vec3d center, double radius, Predicate<AuraNodeEntity> filter) {
+        List<AuraNodeEntity> result = new ArrayList<>();
+        if (byChunk.isEmpty()) {
+            return result;
+        }
+
+        double radiusSquared = radius * radius;
+        int minX = ChunkSectionPos.getSectionCoord(MathHelper.floor(center.x - radius));
+        int maxX = ChunkSectionPos.getSectionCoord(MathHelper.floor(center.x + radius));
+        int minZ = ChunkSectionPos.getSectionCoord(MathHelper.floor(center.z - radius));
+        int maxZ = ChunkSectionPos.getSectionCoord(MathHelper.floor(center.z + radius));
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                List<AuraNodeEntity> bucket = byChunk.get(ChunkPos.toLong(x, z));
+                if (bucket == null) continue;
+                for (AuraNodeEntity node : bucket) {
+                    if (node.squaredDistanceTo(center) <= radiusSquared && filter.test(node)) {
+                        result.add(node);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the nearest node within the radius, searching outwards ring by ring of chunks.
+     */
+    @Nullable
+    public AuraNodeEntity getNearestNode(Vec3d center, double maxRadius) {
+        return getNearestNode(center, maxRadius, node -> true);
+    }
+
+    @Nullable
+    public AuraNodeEntity getNearestNode(Vec3d center, double maxRadius, Predicate<AuraNodeEntity> filter) {
+        if (byChunk.isEmpty()) {
+            return null;
+        }
+
+        int centerX = ChunkSectionPos.getSectionCoord(MathHelper.floor(center.x));
+        int centerZ = ChunkSectionPos.getSectionCoord(MathHelper.floor(center.z));
+        int maxRing = MathHelper.ceil(maxRadius / 16.0);
+        AuraNodeEntity nearest = null;
+        double nearestDistance = maxRadius * maxRadius;
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Everything in this ring and beyond is at least (ring - 1) chunks away horizontally
+            double ringDistance = Math.max(0, ring - 1) * 16.0;
+            if (nearest != null && ringDistance * ringDistance > nearestDistance) {
+                break;
+            }
+            for (int x = centerX - ring; x <= centerX + ring; x++) {
+                for (int z = centerZ - ring; z <= centerZ + ring; z++) {
+                    if (Math.max(Math.abs(x - centerX), Math.abs(z - centerZ)) != ring) continue;
+                    List<AuraNodeEntity> bucket = byChunk.get(ChunkPos.toLong(x, z));
+                    if (bucket == null) continue;
+                    for (AuraNodeEntity node : bucket) {
+                        double distance = node.squaredDistanceTo(center);
+                        if (distance <= nearestDistance && filter.test(node)) {
+                            nearest = node;
+                            nearestDistance = distance;
+                        }
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Returns every loaded node of the given type.
+     */
+    public List<AuraNodeEntity> getNodesByType(AuraNodeEntity.NodeType type) {
+        List<AuraNodeEntity> result = new ArrayList<>();
+        for (AuraNodeEntity node : indexedChunks.keySet()) {
+            if (node.getNodeType() == type) {
+                result.add(node);
+            }
+        }
+        return result;
+    }
+
+    public List<AuraNodeEntity> getNodesInChunk(ChunkPos chunkPos) {
+        List<AuraNodeEntity> bucket = byChunk.get(chunkPos.toLong());
+        return bucket != null ? List.copyOf(bucket) : List.of();
+    }
+
+    public int size() {
+        return indexedChunks.size();
+    }
+}
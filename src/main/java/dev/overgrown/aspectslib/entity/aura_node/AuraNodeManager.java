@@ -0,0 +1,128 @@
+package dev.overgrown.aspectslib.entity.aura_node;
+
+import dev.overgrown.aspectslib.data.WorldContext;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.server.world.ServerWorld;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the behavior of all loaded aura nodes of a world in one loop at the end of the world tick.
+ * <p>
+ * Nodes are kept in dense parallel arrays, the node and the world time it last ran at share a slot. Each node runs
+ * once every {@link #TICK_INTERVAL} ticks, spread over the interval by slot, and catches up on every tick since its
+ * last run at once.
+ * </p>
+ * <p>
+ * Full nodes without periodic behavior leave the arrays and cost nothing until they are drained or changed.
+ * </p>
+ */
+public class AuraNodeManager {
+    public static final int TICK_INTERVAL = 20;
+    private static final WorldContext.Key<AuraNodeManager> MANAGER = WorldContext.key(world -> new AuraNodeManager());
+
+    private AuraNodeEntity[] nodes = new AuraNodeEntity[16];
+    private long[] lastTickTimes = new long[16];
+    private int size;
+    private boolean ticking;
+    // Nodes removed while ticking, removing them right away would move other nodes between slots mid-loop
+    private final List<AuraNodeEntity> pendingRemovals = new ArrayList<>();
+
+    public static void initialize() {
+        ServerEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+            if (entity instanceof AuraNodeEntity node) {
+                node.loaded = true;
+                get(world).add(node, world.getTime());
+            }
+        });
+        ServerEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+            if (entity instanceof AuraNodeEntity node) {
+                node.loaded = false;
+                get(world).remove(node);
+            }
+        });
+        ServerTickEvents.END_WORLD_TICK.register(world -> get(world).tick(world.getTime()));
+    }
+
+    public static AuraNodeManager get(ServerWorld world) {
+        return WorldContext.get(world, MANAGER);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Resumes ticking a dormant node, called when something changes it.
+     */
+    void wake(AuraNodeEntity node) {
+        if (node.loaded && !node.isRemoved()) {
+            add(node, node.getWorld().getTime());
+        }
+    }
+
+    private void add(AuraNodeEntity node, long time) {
+        if (node.managerSlot != -1) {
+            return;
+        }
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+            lastTickTimes = Arrays.copyOf(lastTickTimes, size * 2);
+        }
+        nodes[size] = node;
+        lastTickTimes[size] = time;
+        node.managerSlot = size++;
+    }
+
+    private void remove(AuraNodeEntity node) {
+        if (ticking) {
+            pendingRemovals.add(node);
+            return;
+        }
+
+        int slot = node.managerSlot;
+        if (slot == -1) {
+            return;
+        }
+        int last = --size;
+        nodes[slot] = nodes[last];
+        lastTickTimes[slot] = lastTickTimes[last];
+        nodes[slot].managerSlot = slot;
+        nodes[last] = null;
+        node.managerSlot = -1;
+    }
+
+    private void tick(long time) {
+        if (size == 0) {
+            return;
+        }
+
+        ticking = true;
+        try {
+            for (int i = (int) Math.floorMod(time, TICK_INTERVAL); i < size; i += TICK_INTERVAL) {
+                AuraNodeEntity node = nodes[i];
+                int elapsed = (int) Math.min(Integer.MAX_VALUE, Math.max(0, time - lastTickTimes[i]));
+                lastTickTimes[i] = time;
+                if (elapsed > 0 && !node.isRemoved() && !node.tickNode(elapsed)) {
+                    // Dormant until woken, it regenerates from its timestamp when observed
+                    pendingRemovals.add(node);
+                }
+            }
+        } finally {
+            ticking = false;
+        }
+
+        if (!pendingRemovals.isEmpty()) {
+            for (AuraNodeEntity node : pendingRemovals) {
+                // A node can be woken again later in the tick it went dormant in
+                if (!node.loaded || node.isRemoved() || node.isDormant()) {
+                    remove(node);
+                }
+            }
+            pendingRemovals.clear();
+        }
+    }
+}
@@ -38,7 +38,7 @@ public class AuraNodeRenderer extends EntityRenderer<AuraNodeEntity> {
         Camera camera = mc.gameRenderer.getCamera();
 
         // Check if it should show the node with full clarity
-        boolean shouldShow = AuraNodeVisibilityConfig.shouldShowNode(mc.player, !node.getAspects().isEmpty());
+        boolean shouldShow = AuraNodeVisibilityConfig.shouldShowNode(mc.player, node.hasAspects());
 
         // Calculate alpha based on visibility condition
         float alpha = shouldShow ? VISIBLE_ALPHA : DEFAULT_ALPHA;
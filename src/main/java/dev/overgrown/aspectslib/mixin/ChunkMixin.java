@@ -0,0 +1,26 @@
+package dev.overgrown.aspectslib.mixin;
+
+import dev.overgrown.aspectslib.api.IChunkAttachmentHolder;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+@Mixin(Chunk.class)
+public abstract class ChunkMixin implements IChunkAttachmentHolder {
+
+    @Unique
+    private NbtCompound aspectslib$pendingAttachments;
+
+    @Unique
+    @Override
+    public NbtCompound aspectslib$getPendingAttachments() {
+        return this.aspectslib$pendingAttachments;
+    }
+
+    @Unique
+    @Override
+    public void aspectslib$setPendingAttachments(NbtCompound nbt) {
+        this.aspectslib$pendingAttachments = nbt;
+    }
+}
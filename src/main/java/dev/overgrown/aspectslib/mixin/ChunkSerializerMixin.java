@@ -0,0 +1,32 @@
+package dev.overgrown.aspectslib.mixin;
+
+import dev.overgrown.aspectslib.data.ChunkDataAttachments;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.ChunkSerializer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ProtoChunk;
+import net.minecraft.world.chunk.ReadOnlyChunk;
+import net.minecraft.world.poi.PointOfInterestStorage;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(ChunkSerializer.class)
+public abstract class ChunkSerializerMixin {
+
+    @Inject(method = "serialize", at = @At("RETURN"))
+    private static void onSerialize(ServerWorld world, Chunk chunk, CallbackInfoReturnable<NbtCompound> cir) {
+        ChunkDataAttachments.writeChunk(world, chunk.getPos(), cir.getReturnValue());
+    }
+
+    @Inject(method = "deserialize", at = @At("RETURN"))
+    private static void onDeserialize(ServerWorld world, PointOfInterestStorage poiStorage, ChunkPos chunkPos,
+                                      NbtCompound nbt, CallbackInfoReturnable<ProtoChunk> cir) {
+        ProtoChunk chunk = cir.getReturnValue();
+        // Full chunks are read as a wrapper around the world chunk that is loaded later on
+        ChunkDataAttachments.readChunk(chunk instanceof ReadOnlyChunk readOnly ? readOnly.getWrappedChunk() : chunk, nbt);
+    }
+}
@@ -0,0 +1,20 @@
+package dev.overgrown.aspectslib.mixin;
+
+import net.minecraft.world.PersistentState;
+import net.minecraft.world.PersistentStateManager;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+import org.spongepowered.asm.mixin.gen.Invoker;
+
+import java.io.File;
+import java.util.Map;
+
+@Mixin(PersistentStateManager.class)
+public interface PersistentStateManagerAccessor {
+
+    @Accessor("loadedStates")
+    Map<String, PersistentState> aspectslib$getLoadedStates();
+
+    @Invoker("getFile")
+    File aspectslib$getFile(String id);
+}
@@ -0,0 +1,19 @@
+package dev.overgrown.aspectslib.mixin;
+
+import dev.overgrown.aspectslib.networking.ChunkStateSync;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.ChunkPos;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(ServerPlayerEntity.class)
+public abstract class ServerPlayerEntityMixin {
+
+    @Inject(method = "sendChunkPacket", at = @At("TAIL"))
+    private void aspectslib$syncChunkState(ChunkPos chunkPos, Packet<?> chunkDataPacket, CallbackInfo ci) {
+        ChunkStateSync.onChunkWatched((ServerPlayerEntity) (Object) this, chunkPos);
+    }
+}
@@ -0,0 +1,23 @@
+package dev.overgrown.aspectslib.mixin;
+
+import dev.overgrown.aspectslib.api.IWorldContextHolder;
+import dev.overgrown.aspectslib.data.WorldContext;
+import net.minecraft.server.world.ServerWorld;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+@Mixin(ServerWorld.class)
+public abstract class ServerWorldMixin implements IWorldContextHolder {
+
+    @Unique
+    private WorldContext aspectslib$worldContext;
+
+    @Unique
+    @Override
+    public WorldContext aspectslib$getWorldContext() {
+        if (this.aspectslib$worldContext == null) {
+            this.aspectslib$worldContext = new WorldContext((ServerWorld) (Object) this);
+        }
+        return this.aspectslib$worldContext;
+    }
+}
@@ -0,0 +1,23 @@
+package dev.overgrown.aspectslib.mixin;
+
+import dev.overgrown.aspectslib.api.IChunkAttachmentHolder;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.chunk.ProtoChunk;
+import net.minecraft.world.chunk.WorldChunk;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(WorldChunk.class)
+public abstract class WorldChunkMixin {
+
+    @Inject(method = "<init>(Lnet/minecraft/server/world/ServerWorld;Lnet/minecraft/world/chunk/ProtoChunk;Lnet/minecraft/world/chunk/WorldChunk$EntityLoader;)V",
+            at = @At("TAIL"))
+    private void onPromoted(ServerWorld world, ProtoChunk protoChunk, WorldChunk.EntityLoader entityLoader, CallbackInfo ci) {
+        // Attachments read while the chunk was a proto chunk move over to the full chunk
+        IChunkAttachmentHolder proto = (IChunkAttachmentHolder) protoChunk;
+        ((IChunkAttachmentHolder) this).aspectslib$setPendingAttachments(proto.aspectslib$getPendingAttachments());
+        proto.aspectslib$setPendingAttachments(null);
+    }
+}
@@ -0,0 +1,261 @@
+package dev.overgrown.aspectslib.networking;
+
+import dev.overgrown.aspectslib.aether.AetherChunkData;
+import dev.overgrown.aspectslib.aether.AetherManager;
+import dev.overgrown.aspectslib.corruption.CorruptionChunkData;
+import dev.overgrown.aspectslib.corruption.CorruptionDataManager;
+import dev.overgrown.aspectslib.data.WorldContext;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps clients informed about the aether and corruption of the chunks they can see.
+ * <p>
+ * Chunks are sent in full when a player starts watching them, afterwards only their changed aspects and status
+ * are sent. Changes are collected during the tick and sent as one {@link SyncChunkStatePacket} per player at its
+ * end. Chunks the server never touched are skipped, the client computes the same aether from the biome.
+ * </p>
+ * <p>
+ * On the client the synced aether lands in the {@link AetherManager} client cache, the corruption status is kept
+ * here per dimension and read through {@link #getClientStatus(World, ChunkPos)}. A full update without aspects
+ * tells the client the server holds no aether for the chunk, so it falls back to its own biome estimate.
+ * </p>
+ */
+public class ChunkStateSync {
+    private static final int MAX_CHUNKS_PER_PACKET = 512;
+    private static final WorldContext.Key<PendingSync> PENDING = WorldContext.key(world -> new PendingSync());
+    private static final Map<RegistryKey<World>, Long2ObjectMap<CorruptionChunkData.Status>> CLIENT_STATUS = new HashMap<>();
+
+    /**
+     * What the watching players were last sent for a chunk.
+     */
+    private record Snapshot(Identifier[] aspectIds, int[] currentAether, int[] maxAether,
+                            CorruptionChunkData.Status status) {
+    }
+
+    private static class PendingSync {
+        private LongSet changed = new LongOpenHashSet();
+        private final Map<ServerPlayerEntity, LongSet> watched = new HashMap<>();
+        private final Long2ObjectMap<Snapshot> sent = new Long2ObjectOpenHashMap<>();
+    }
+
+    public static void initialize() {
+        ServerTickEvents.END_WORLD_TICK.register(ChunkStateSync::flush);
+        ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) ->
+                WorldContext.get(world, PENDING).sent.remove(chunk.getPos().toLong()));
+    }
+
+    /**
+     * Queues the aether and corruption of a chunk to be sent to its watchers at the end of the tick.
+     */
+    public static void markChanged(ServerWorld world, ChunkPos chunkPos) {
+        WorldContext.get(world, PENDING).changed.add(chunkPos.toLong());
+    }
+
+    /**
+     * Queues the full state of a chunk for a player that just received the chunk itself.
+     */
+    public static void onChunkWatched(ServerPlayerEntity player, ChunkPos chunkPos) {
+        WorldContext.get(player.getServerWorld(), PENDING).watched
+                .computeIfAbsent(player, p -> new LongOpenHashSet())
+                .add(chunkPos.toLong());
+    }
+
+    private static void flush(ServerWorld world) {
+        PendingSync pending = WorldContext.get(world, PENDING);
+        if (pending.changed.isEmpty() && pending.watched.isEmpty()) {
+            return;
+        }
+
+        Map<ServerPlayerEntity, List<SyncChunkStatePacket.ChunkUpdate>> batches = new HashMap<>();
+
+        // Reading aether can apply recovery and mark the chunk again, that change goes out next tick
+        LongSet changed = pending.changed;
+        pending.changed = new LongOpenHashSet();
+        for (LongIterator it = changed.iterator(); it.hasNext(); ) {
+            long key = it.nextLong();
+            ChunkPos chunkPos = new ChunkPos(key);
+            Collection<ServerPlayerEntity> players = PlayerLookup.tracking(world, chunkPos);
+            if (players.isEmpty()) {
+                pending.sent.remove(key);
+                continue;
+            }
+
+            Snapshot current = capture(world, chunkPos);
+            Snapshot previous = pending.sent.put(key, current);
+            SyncChunkStatePacket.ChunkUpdate update = previous != null ? diff(key, previous, current) : full(key, current);
+            if (update != null) {
+                for (ServerPlayerEntity player : players) {
+                    batches.computeIfAbsent(player, p -> new ArrayList<>()).add(update);
+                }
+            }
+        }
+
+        for (Map.Entry<ServerPlayerEntity, LongSet> entry : pending.watched.entrySet()) {
+            ServerPlayerEntity player = entry.getKey();
+            if (player.isDisconnected() || player.getServerWorld() != world) {
+                continue;
+            }
+            for (LongIterator it = entry.getValue().iterator(); it.hasNext(); ) {
+                long key = it.nextLong();
+                Snapshot snapshot = pending.sent.get(key);
+                if (snapshot == null) {
+                    ChunkPos chunkPos = new ChunkPos(key);
+                    if (AetherManager.getAetherDataIfPresent(world, chunkPos) == null
+                            && CorruptionDataManager.getChunkData(world, chunkPos) == null) {
+                        continue; // Untouched, the client's own biome estimate is exact
+                    }
+                    snapshot = capture(world, chunkPos);
+                    pending.sent.put(key, snapshot);
+                }
+                batches.computeIfAbsent(player, p -> new ArrayList<>()).add(full(key, snapshot));
+            }
+        }
+        pending.watched.clear();
+
+        batches.forEach(ChunkStateSync::send);
+    }
+
+    private static void send(ServerPlayerEntity player, List<SyncChunkStatePacket.ChunkUpdate> updates) {
+        for (int start = 0; start < updates.size(); start += MAX_CHUNKS_PER_PACKET) {
+            PacketByteBuf buf = PacketByteBufs.create();
+            SyncChunkStatePacket.write(buf, updates.subList(start, Math.min(updates.size(), start + MAX_CHUNKS_PER_PACKET)));
+            ServerPlayNetworking.send(player, SyncChunkStatePacket.ID, buf);
+        }
+    }
+
+    private static Snapshot capture(ServerWorld world, ChunkPos chunkPos) {
+        AetherChunkData aether = AetherManager.getAetherDataIfPresent(world, chunkPos);
+        Identifier[] aspectIds = aether != null ? aether.getAspectIds().toArray(new Identifier[0]) : new Identifier[0];
+        int[] currentAether = new int[aspectIds.length];
+        int[] maxAether = new int[aspectIds.length];
+        for (int i = 0; i < aspectIds.length; i++) {
+            currentAether[i] = aether.getCurrentAether(aspectIds[i]);
+            maxAether[i] = aether.getMaxAether(aspectIds[i]);
+        }
+
+        CorruptionChunkData corruption = CorruptionDataManager.getChunkData(world, chunkPos);
+        CorruptionChunkData.Status status = corruption != null ? corruption.getStatus() : CorruptionChunkData.Status.PURE;
+        return new Snapshot(aspectIds, currentAether, maxAether, status);
+    }
+
+    private static SyncChunkStatePacket.ChunkUpdate full(long key, Snapshot snapshot) {
+        return new SyncChunkStatePacket.ChunkUpdate(key, true, snapshot.status(),
+                snapshot.aspectIds(), snapshot.currentAether(), snapshot.maxAether());
+    }
+
+    /**
+     * Lists the aspects whose amounts differ from the previous snapshot, or {@code null} if nothing changed.
+     * Falls back to a full update when an aspect was removed, deltas can only add or update aspects.
+     */
+    private static SyncChunkStatePacket.ChunkUpdate diff(long key, Snapshot previous, Snapshot current) {
+        for (Identifier aspectId : previous.aspectIds()) {
+            if (indexOf(current.aspectIds(), aspectId) == -1) {
+                return full(key, current);
+            }
+        }
+
+        int[] changed = new int[current.aspectIds().length];
+        int count = 0;
+        for (int i = 0; i < current.aspectIds().length; i++) {
+            int index = indexOf(previous.aspectIds(), current.aspectIds()[i]);
+            if (index == -1
+                    || previous.currentAether()[index] != current.currentAether()[i]
+                    || previous.maxAether()[index] != current.maxAether()[i]) {
+                changed[count++] = i;
+            }
+        }
+        CorruptionChunkData.Status status = previous.status() != current.status() ? current.status() : null;
+        if (count == 0 && status == null) {
+            return null;
+        }
+
+        Identifier[] aspectIds = new Identifier[count];
+        int[] currentAether = new int[count];
+        int[] maxAether = new int[count];
+        for (int i = 0; i < count; i++) {
+            aspectIds[i] = current.aspectIds()[changed[i]];
+            currentAether[i] = current.currentAether()[changed[i]];
+            maxAether[i] = current.maxAether()[changed[i]];
+        }
+        return new SyncChunkStatePacket.ChunkUpdate(key, false, status, aspectIds, currentAether, maxAether);
+    }
+
+    private static int indexOf(Identifier[] aspectIds, Identifier aspectId) {
+        for (int i = 0; i < aspectIds.length; i++) {
+            if (aspectIds[i].equals(aspectId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // ========== CLIENT ==========
+
+    /**
+     * Applies a received batch, must run on the client thread.
+     */
+    public static void applyClientUpdates(World world, List<SyncChunkStatePacket.ChunkUpdate> updates) {
+        Long2ObjectMap<CorruptionChunkData.Status> statuses =
+                CLIENT_STATUS.computeIfAbsent(world.getRegistryKey(), key -> new Long2ObjectOpenHashMap<>());
+        for (SyncChunkStatePacket.ChunkUpdate update : updates) {
+            ChunkPos chunkPos = new ChunkPos(update.chunkPos());
+            if (update.full() && update.aspectIds().length == 0) {
+                // The server holds no aether for the chunk, drop ours so it is estimated from the biome again
+                AetherManager.onClientChunkUnload(world, chunkPos);
+            } else {
+                AetherManager.applyClientSync(world, chunkPos, update.full(),
+                        update.aspectIds(), update.currentAether(), update.maxAether());
+            }
+            if (update.status() != null) {
+                if (update.status() == CorruptionChunkData.Status.PURE) {
+                    statuses.remove(update.chunkPos());
+                } else {
+                    statuses.put(update.chunkPos(), update.status());
+                }
+            }
+        }
+    }
+
+    /**
+     * Corruption status of a chunk as last synced to this client.
+     */
+    public static CorruptionChunkData.Status getClientStatus(World world, ChunkPos chunkPos) {
+        Long2ObjectMap<CorruptionChunkData.Status> statuses = CLIENT_STATUS.get(world.getRegistryKey());
+        return statuses != null
+                ? statuses.getOrDefault(chunkPos.toLong(), CorruptionChunkData.Status.PURE)
+                : CorruptionChunkData.Status.PURE;
+    }
+
+    public static void onClientChunkUnload(World world, ChunkPos chunkPos) {
+        Long2ObjectMap<CorruptionChunkData.Status> statuses = CLIENT_STATUS.get(world.getRegistryKey());
+        if (statuses != null) {
+            statuses.remove(chunkPos.toLong());
+        }
+    }
+
+    public static void clearClient() {
+        CLIENT_STATUS.clear();
+    }
+}
@@ -0,0 +1,77 @@
+package dev.overgrown.aspectslib.networking;
+
+import dev.overgrown.aspectslib.AspectsLib;
+import dev.overgrown.aspectslib.corruption.CorruptionChunkData;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Carries the aether levels and corruption status of a batch of chunks from server to client.
+ * <p>
+ * A full update replaces everything the client knows about the chunk. A delta only lists the aspects whose amounts
+ * changed, with their new values, and only carries a status when it changed. A full update without aspects
+ * means the server keeps no aether for the chunk and the client estimates it from the biome.
+ * </p>
+ * <br>
+ * <p>
+ * Important Connections:
+ * <li>{@link ChunkStateSync}: Collects changed chunks and sends one batch per player and tick</li>
+ * </p>
+ */
+public class SyncChunkStatePacket {
+    public static final Identifier ID = AspectsLib.identifier("sync_chunk_state");
+
+    private static final int FLAG_FULL = 1;
+    private static final int FLAG_STATUS = 2;
+
+    /**
+     * @param status the corruption status, or {@code null} when unchanged
+     */
+    public record ChunkUpdate(long chunkPos, boolean full, CorruptionChunkData.Status status,
+                              Identifier[] aspectIds, int[] currentAether, int[] maxAether) {
+    }
+
+    public static void write(PacketByteBuf buf, List<ChunkUpdate> updates) {
+        buf.writeVarInt(updates.size());
+        for (ChunkUpdate update : updates) {
+            buf.writeLong(update.chunkPos());
+            int flags = (update.full() ? FLAG_FULL : 0) | (update.status() != null ? FLAG_STATUS : 0);
+            buf.writeByte(flags);
+            if (update.status() != null) {
+                buf.writeByte(update.status().ordinal());
+            }
+            buf.writeVarInt(update.aspectIds().length);
+            for (int i = 0; i < update.aspectIds().length; i++) {
+                buf.writeIdentifier(update.aspectIds()[i]);
+                buf.writeVarInt(update.currentAether()[i]);
+                buf.writeVarInt(update.maxAether()[i]);
+            }
+        }
+    }
+
+    public static List<ChunkUpdate> read(PacketByteBuf buf) {
+        int count = buf.readVarInt();
+        List<ChunkUpdate> updates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long chunkPos = buf.readLong();
+            int flags = buf.readByte();
+            CorruptionChunkData.Status status = (flags & FLAG_STATUS) != 0
+                    ? CorruptionChunkData.Status.fromOrdinal(buf.readByte())
+                    : null;
+            int aspectCount = buf.readVarInt();
+            Identifier[] aspectIds = new Identifier[aspectCount];
+            int[] currentAether = new int[aspectCount];
+            int[] maxAether = new int[aspectCount];
+            for (int j = 0; j < aspectCount; j++) {
+                aspectIds[j] = buf.readIdentifier();
+                currentAether[j] = buf.readVarInt();
+                maxAether[j] = buf.readVarInt();
+            }
+            updates.add(new ChunkUpdate(chunkPos, (flags & FLAG_FULL) != 0, status, aspectIds, currentAether, maxAether));
+        }
+        return updates;
+    }
+}
@@ -20,6 +20,8 @@ import net.minecraft.util.Identifier;
 import net.minecraft.util.collection.DefaultedList;
 import net.minecraft.world.PersistentState;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ForkJoinPool;
@@ -44,9 +46,12 @@ public class RecipeAspectCalculator {
         final Set<Identifier> dependencies = ConcurrentHashMap.newKeySet();
         final Set<Identifier> dependents = ConcurrentHashMap.newKeySet();
         volatile AspectData cachedAspects = null;
+        volatile RecipeEntry chosenRecipe = null;
+        volatile List<RecipeEntry> brokenRecipes = List.of();
         volatile boolean isProcessing = false;
         volatile boolean isProcessed = false;
         volatile int depth = 0;
+        volatile int sccId = -1;
         
         RecipeNode(Identifier itemId) {
             this.itemId = itemId;
@@ -59,6 +64,7 @@ public class RecipeAspectCalculator {
         final Map<Identifier, Integer> ingredientCounts;
         final int outputCount;
         final RecipeType<?> type;
+        final String typeId;
         
         RecipeEntry(Recipe<?> recipe, List<Identifier> ingredients, Map<Identifier, Integer> counts, int outputCount) {
             this.recipe = recipe;
@@ -66,6 +72,7 @@ public class RecipeAspectCalculator {
             this.ingredientCounts = counts;
             this.outputCount = outputCount;
             this.type = recipe.getType();
+            this.typeId = String.valueOf(Registries.RECIPE_TYPE.getId(this.type));
         }
     }
     
@@ -75,13 +82,14 @@ public class RecipeAspectCalculator {
         this.recipeManager = server.getRecipeManager();
     }
     
-    public void calculateAllAspects() {
+    public synchronized void calculateAllAspects() {
         long startTime = System.currentTimeMillis();
         AspectsLib.LOGGER.info("Starting recipe-based aspect calculation...");
         
         clearCalculatedData();
         identifyBaseItems();
         buildRecipeGraph();
+        markStronglyConnectedComponents();
         detectAndBreakCycles();
         calculateDepths();
         propagateAspects();
@@ -289,6 +297,89 @@ public class RecipeAspectCalculator {
         return AspectData.DEFAULT;
     }
     
+    /**
+     * Labels every node that belongs to a non-trivial strongly connected component (a recipe loop)
+     * with a shared component id, using an iterative Tarjan pass over the dependent edges.
+     * Only used for diagnostics and graph export; cycle breaking itself is unchanged.
+     */
+    private void markStronglyConnectedComponents() {
+        Object2IntOpenHashMap<Identifier> index = new Object2IntOpenHashMap<>();
+        Object2IntOpenHashMap<Identifier> lowLink = new Object2IntOpenHashMap<>();
+        Set<Identifier> onStack = new HashSet<>();
+        Deque<Identifier> stack = new ArrayDeque<>();
+        Deque<Iterator<Identifier>> edges = new ArrayDeque<>();
+        Deque<Identifier> callStack = new ArrayDeque<>();
+        int nextIndex = 0;
+        int nextComponent = 0;
+
+        for (Identifier root : recipeGraph.keySet()) {
+            if (index.containsKey(root)) continue;
+
+            index.put(root, nextIndex);
+            lowLink.put(root, nextIndex++);
+            stack.push(root);
+            onStack.add(root);
+            callStack.push(root);
+            edges.push(dependentsOf(root));
+
+            while (!callStack.isEmpty()) {
+                Identifier current = callStack.peek();
+                Iterator<Identifier> it = edges.peek();
+
+                if (it.hasNext()) {
+                    Identifier next = it.next();
+                    if (!index.containsKey(next)) {
+                        index.put(next, nextIndex);
+                        lowLink.put(next, nextIndex++);
+                        stack.push(next);
+                        onStack.add(next);
+                        callStack.push(next);
+                        edges.push(dependentsOf(next));
+                    } else if (onStack.contains(next)) {
+                        lowLink.put(current, Math.min(lowLink.getInt(current), index.getInt(next)));
+                    }
+                    continue;
+                }
+
+                callStack.pop();
+                edges.pop();
+                if (!callStack.isEmpty()) {
+                    Identifier parent = callStack.peek();
+                    lowLink.put(parent, Math.min(lowLink.getInt(parent), lowLink.getInt(current)));
+                }
+
+                if (lowLink.getInt(current) == index.getInt(current)) {
+                    List<Identifier> component = new ArrayList<>();
+                    Identifier member;
+                    do {
+                        member = stack.pop();
+                        onStack.remove(member);
+                        component.add(member);
+                    } while (!member.equals(current));
+
+                    if (component.size() > 1) {
+                        for (Identifier id : component) {
+                            RecipeNode node = recipeGraph.get(id);
+                            if (node != null) {
+                                node.sccId = nextComponent;
+                            }
+                        }
+                        nextComponent++;
+                    }
+                }
+            }
+        }
+
+        if (nextComponent > 0) {
+            AspectsLib.LOGGER.info("Found {} recipe loops (strongly connected components)", nextComponent);
+        }
+    }
+
+    private Iterator<Identifier> dependentsOf(Identifier itemId) {
+        RecipeNode node = recipeGraph.get(itemId);
+        return node != null ? node.dependents.iterator() : Collections.emptyIterator();
+    }
+
     private void detectAndBreakCycles() {
         Set<Identifier> visited = new HashSet<>();
         Set<Identifier> recursionStack = new HashSet<>();
@@ -351,6 +442,7 @@ public class RecipeAspectCalculator {
         if (weakestLink != null) {
             RecipeNode node = recipeGraph.get(weakestLink);
             if (node != null) {
+                node.brokenRecipes = List.copyOf(node.recipes);
                 node.recipes.clear();
                 node.dependencies.clear();
                 AspectsLib.LOGGER.debug("Broke cycle at item: {}", weakestLink);
@@ -481,6 +573,7 @@ public class RecipeAspectCalculator {
         if (bestAspects != null) {
             calculatedAspects.put(itemId, bestAspects);
             node.cachedAspects = bestAspects;
+            node.chosenRecipe = bestRecipe;
         }
         
         processingItems.remove(itemId);
@@ -511,21 +604,7 @@ public class RecipeAspectCalculator {
             return AspectData.DEFAULT;
         }
         
-        double lossFactor;
-        if (recipeEntry.type == RecipeType.CRAFTING) {
-            lossFactor = config.getCraftingLoss();
-        } else if (recipeEntry.type == RecipeType.SMELTING || 
-                   recipeEntry.type == RecipeType.BLASTING || 
-                   recipeEntry.type == RecipeType.SMOKING ||
-                   recipeEntry.type == RecipeType.CAMPFIRE_COOKING) {
-            lossFactor = config.getSmeltingLoss();
-        } else if (recipeEntry.type == RecipeType.SMITHING) {
-            lossFactor = config.getSmithingLoss();
-        } else if (recipeEntry.type == RecipeType.STONECUTTING) {
-            lossFactor = config.getStonecuttingLoss();
-        } else {
-            lossFactor = config.getCraftingLoss();
-        }
+        double lossFactor = config.getLossFactor(recipeEntry.typeId);
         
         for (Identifier aspectId : combinedAspects.keySet()) {
             int originalValue = combinedAspects.getInt(aspectId);
@@ -561,4 +640,50 @@ public class RecipeAspectCalculator {
         
         AspectsLib.LOGGER.info("Applied calculated aspects to {} items", updated);
     }
-}
\ No newline at end of file
+
+    /**
+     * Captures the graph from the last calculation so it can be written out and analysed offline.
+     */
+    public synchronized RecipeGraphDump snapshotGraph() {
+        RecipeGraphDump dump = new RecipeGraphDump(config.toJson());
+
+        for (RecipeNode node : recipeGraph.values()) {
+            boolean cycleBroken = !node.brokenRecipes.isEmpty();
+            List<RecipeEntry> entries = new ArrayList<>(cycleBroken ? node.brokenRecipes : node.recipes);
+            List<RecipeGraphDump.RecipeEdge> edges = new ArrayList<>(entries.size());
+            for (RecipeEntry entry : entries) {
+                Map<String, Integer> ingredients = new LinkedHashMap<>();
+                entry.ingredientCounts.forEach((id, count) -> ingredients.put(id.toString(), count));
+                edges.add(new RecipeGraphDump.RecipeEdge(String.valueOf(entry.recipe.getId()), entry.typeId,
+                        entry.outputCount, ingredients));
+            }
+
+            AspectData aspects = calculatedAspects.getOrDefault(node.itemId, AspectData.DEFAULT);
+            Map<String, Integer> aspectMap = new LinkedHashMap<>();
+            aspects.getMap().object2IntEntrySet().forEach(e -> aspectMap.put(e.getKey().toString(), e.getIntValue()));
+
+            dump.addNode(new RecipeGraphDump.Node(
+                    node.itemId.toString(),
+                    baseItems.contains(node.itemId),
+                    itemDepths.getOrDefault(node.itemId, -1),
+                    node.sccId,
+                    cycleBroken,
+                    node.chosenRecipe != null ? entries.indexOf(node.chosenRecipe) : -1,
+                    edges,
+                    aspectMap
+            ));
+        }
+
+        return dump;
+    }
+
+    public int exportGraph(Path path) throws IOException {
+        RecipeGraphDump dump = snapshotGraph();
+        if (dump.getNodes().isEmpty()) {
+            throw new IllegalStateException("No recipe graph has been calculated yet");
+        }
+        dump.write(path);
+        AspectsLib.LOGGER.info("Exported recipe graph with {} nodes to {}", dump.getNodes().size(), path.toAbsolutePath());
+        return dump.getNodes().size();
+    }
+}
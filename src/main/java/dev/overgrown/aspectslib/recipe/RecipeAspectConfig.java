@@ -36,19 +36,7 @@ public class RecipeAspectConfig {
     public void load() {
         if (Files.exists(CONFIG_PATH)) {
             try {
-                String content = Files.readString(CONFIG_PATH);
-                JsonObject json = JsonParser.parseString(content).getAsJsonObject();
-                
-                if (json.has("enabled")) enabled = json.get("enabled").getAsBoolean();
-                if (json.has("craftingLoss")) craftingLoss = json.get("craftingLoss").getAsDouble();
-                if (json.has("smeltingLoss")) smeltingLoss = json.get("smeltingLoss").getAsDouble();
-                if (json.has("smithingLoss")) smithingLoss = json.get("smithingLoss").getAsDouble();
-                if (json.has("stonecuttingLoss")) stonecuttingLoss = json.get("stonecuttingLoss").getAsDouble();
-                if (json.has("maxDepth")) maxDepth = json.get("maxDepth").getAsInt();
-                if (json.has("parallelThreads")) parallelThreads = json.get("parallelThreads").getAsInt();
-                if (json.has("preferLowestValueIngredient")) preferLowestValueIngredient = json.get("preferLowestValueIngredient").getAsBoolean();
-                if (json.has("debugLogging")) debugLogging = json.get("debugLogging").getAsBoolean();
-                
+                read(JsonParser.parseString(Files.readString(CONFIG_PATH)).getAsJsonObject());
                 AspectsLib.LOGGER.info("Loaded recipe aspect configuration");
             } catch (IOException e) {
                 AspectsLib.LOGGER.error("Failed to load recipe aspect config", e);
@@ -58,26 +46,51 @@ public class RecipeAspectConfig {
             save();
         }
     }
+
+    /**
+     * Builds a detached configuration from JSON without touching the config file on disk.
+     * Used by {@link RecipeGraphTool} to try out loss factors offline.
+     */
+    public static RecipeAspectConfig fromJson(JsonObject json) {
+        RecipeAspectConfig config = new RecipeAspectConfig();
+        config.read(json);
+        return config;
+    }
+
+    private void read(JsonObject json) {
+        if (json.has("enabled")) enabled = json.get("enabled").getAsBoolean();
+        if (json.has("craftingLoss")) craftingLoss = json.get("craftingLoss").getAsDouble();
+        if (json.has("smeltingLoss")) smeltingLoss = json.get("smeltingLoss").getAsDouble();
+        if (json.has("smithingLoss")) smithingLoss = json.get("smithingLoss").getAsDouble();
+        if (json.has("stonecuttingLoss")) stonecuttingLoss = json.get("stonecuttingLoss").getAsDouble();
+        if (json.has("maxDepth")) maxDepth = json.get("maxDepth").getAsInt();
+        if (json.has("parallelThreads")) parallelThreads = json.get("parallelThreads").getAsInt();
+        if (json.has("preferLowestValueIngredient")) preferLowestValueIngredient = json.get("preferLowestValueIngredient").getAsBoolean();
+        if (json.has("debugLogging")) debugLogging = json.get("debugLogging").getAsBoolean();
+    }
+
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("enabled", enabled);
+        json.addProperty("craftingLoss", craftingLoss);
+        json.addProperty("smeltingLoss", smeltingLoss);
+        json.addProperty("smithingLoss", smithingLoss);
+        json.addProperty("stonecuttingLoss", stonecuttingLoss);
+        json.addProperty("maxDepth", maxDepth);
+        json.addProperty("parallelThreads", parallelThreads);
+        json.addProperty("preferLowestValueIngredient", preferLowestValueIngredient);
+        json.addProperty("debugLogging", debugLogging);
+        return json;
+    }
     
     public void save() {
         try {
             Files.createDirectories(CONFIG_PATH.getParent());
             
-            JsonObject json = new JsonObject();
-            json.addProperty("enabled", enabled);
-            json.addProperty("craftingLoss", craftingLoss);
-            json.addProperty("smeltingLoss", smeltingLoss);
-            json.addProperty("smithingLoss", smithingLoss);
-            json.addProperty("stonecuttingLoss", stonecuttingLoss);
-            json.addProperty("maxDepth", maxDepth);
-            json.addProperty("parallelThreads", parallelThreads);
-            json.addProperty("preferLowestValueIngredient", preferLowestValueIngredient);
-            json.addProperty("debugLogging", debugLogging);
-            
             String jsonString = new com.google.gson.GsonBuilder()
                     .setPrettyPrinting()
                     .create()
-                    .toJson(json);
+                    .toJson(toJson());
             
             Files.writeString(CONFIG_PATH, jsonString);
             AspectsLib.LOGGER.info("Saved recipe aspect configuration");
@@ -85,6 +98,20 @@ public class RecipeAspectConfig {
             AspectsLib.LOGGER.error("Failed to save recipe aspect config", e);
         }
     }
+
+    /**
+     * Gets the loss factor applied to recipes of the given type.
+     *
+     * @param recipeTypeId The recipe type identifier, e.g. {@code minecraft:smelting}
+     */
+    public double getLossFactor(String recipeTypeId) {
+        return switch (recipeTypeId) {
+            case "minecraft:smelting", "minecraft:blasting", "minecraft:smoking", "minecraft:campfire_cooking" -> smeltingLoss;
+            case "minecraft:smithing" -> smithingLoss;
+            case "minecraft:stonecutting" -> stonecuttingLoss;
+            default -> craftingLoss;
+        };
+    }
     
     public boolean isEnabled() { return enabled; }
     public double getCraftingLoss() { return craftingLoss; }
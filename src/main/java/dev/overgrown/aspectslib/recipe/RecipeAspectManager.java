@@ -8,13 +8,19 @@ import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.profiler.Profiler;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 
 public class RecipeAspectManager implements IdentifiableResourceReloadListener {
     
+    public static final Path GRAPH_EXPORT_PATH = Paths.get("aspectslib", "recipe_graph.jsonl");
+
     private static RecipeAspectManager INSTANCE;
     private MinecraftServer server;
     private RecipeAspectCalculator calculator;
@@ -64,6 +70,26 @@ public class RecipeAspectManager implements IdentifiableResourceReloadListener {
         });
     }
     
+    /**
+     * Writes the recipe graph from the last calculation to disk off the server thread.
+     *
+     * @return a future completing with the number of exported nodes
+     */
+    public CompletableFuture<Integer> exportGraph(Path path) {
+        if (calculator == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Server not initialized"));
+        }
+
+        RecipeAspectCalculator current = calculator;
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return current.exportGraph(path);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+    
     @Override
     public CompletableFuture<Void> reload(Synchronizer synchronizer, ResourceManager manager,
                                           Profiler prepareProfiler, Profiler applyProfiler,
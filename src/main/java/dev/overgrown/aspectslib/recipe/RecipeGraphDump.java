@@ -0,0 +1,299 @@
+package dev.overgrown.aspectslib.recipe;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Snapshot of the recipe graph built by {@link RecipeAspectCalculator}, stored as JSON lines.
+ * <p>
+ * The first line is a header holding the {@link RecipeAspectConfig} used for the run. Every following
+ * line is one item node: its recipes, the recipe that was chosen, BFS depth from the base items,
+ * recipe loop (SCC) membership and the resulting aspects.
+ * </p>
+ * <p>
+ * Only plain strings and Gson/fastutil types are used so a dump can be read back and re-propagated
+ * without a running server, see {@link RecipeGraphTool}.
+ * </p>
+ */
+public class RecipeGraphDump {
+    public static final String FORMAT = "aspectslib:recipe_graph";
+    public static final int VERSION = 1;
+
+    private static final Gson GSON = new Gson();
+
+    public record RecipeEdge(String recipeId, String typeId, int outputCount, Map<String, Integer> ingredients) {
+    }
+
+    public record Node(String itemId, boolean base, int depth, int scc, boolean cycleBroken,
+                       int chosenRecipe, List<RecipeEdge> recipes, Map<String, Integer> aspects) {
+
+        public int totalRU() {
+            int total = 0;
+            for (int amount : aspects.values()) {
+                total += amount;
+            }
+            return total;
+        }
+    }
+
+    public record Result(Object2IntOpenHashMap<String> aspects, int chosenRecipe, int depth) {
+
+        public int totalRU() {
+            int total = 0;
+            for (Object2IntMap.Entry<String> entry : aspects.object2IntEntrySet()) {
+                total += entry.getIntValue();
+            }
+            return total;
+        }
+    }
+
+    private final JsonObject config;
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+
+    public RecipeGraphDump(JsonObject config) {
+        this.config = config;
+    }
+
+    public JsonObject getConfig() {
+        return config;
+    }
+
+    public Map<String, Node> getNodes() {
+        return Collections.unmodifiableMap(nodes);
+    }
+
+    public void addNode(Node node) {
+        nodes.put(node.itemId(), node);
+    }
+
+    public void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            JsonObject header = new JsonObject();
+            header.addProperty("format", FORMAT);
+            header.addProperty("version", VERSION);
+            header.addProperty("nodes", nodes.size());
+            header.add("config", config);
+            writer.write(GSON.toJson(header));
+            writer.newLine();
+
+            for (Node node : nodes.values()) {
+                writer.write(GSON.toJson(writeNode(node)));
+                writer.newLine();
+            }
+        }
+    }
+
+    public static RecipeGraphDump read(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                throw new IOException("Empty recipe graph dump: " + path);
+            }
+
+            JsonObject header = JsonParser.parseString(headerLine).getAsJsonObject();
+            if (!header.has("format") || !FORMAT.equals(header.get("format").getAsString())) {
+                throw new IOException("Not a recipe graph dump: " + path);
+            }
+            int version = header.get("version").getAsInt();
+            if (version > VERSION) {
+                throw new IOException("Unsupported recipe graph dump version " + version);
+            }
+
+            RecipeGraphDump dump = new RecipeGraphDump(header.has("config") ? header.getAsJsonObject("config") : new JsonObject());
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    dump.addNode(readNode(JsonParser.parseString(line).getAsJsonObject()));
+                }
+            }
+            return dump;
+        }
+    }
+
+    /**
+     * Re-runs aspect propagation over this graph with the given loss factors and max depth,
+     * following the same rules as {@link RecipeAspectCalculator}: base items keep their aspects,
+     * remaining items are resolved in order of depth, and each item takes its cheapest recipe by RU.
+     * Items of equal depth are visited in id order so repeated runs are deterministic.
+     *
+     * @return the resolved aspects of every item that could be calculated, including base items
+     */
+    public Map<String, Result> propagate(RecipeAspectConfig settings) {
+        Map<String, Result> results = new HashMap<>();
+        Map<String, List<String>> dependents = new HashMap<>();
+        Object2IntOpenHashMap<String> depths = new Object2IntOpenHashMap<>();
+        depths.defaultReturnValue(-1);
+        ArrayDeque<String> queue = new ArrayDeque<>();
+
+        for (Node node : nodes.values()) {
+            if (node.base()) {
+                results.put(node.itemId(), new Result(new Object2IntOpenHashMap<>(node.aspects()), -1, 0));
+                depths.put(node.itemId(), 0);
+                queue.add(node.itemId());
+            }
+            for (RecipeEdge recipe : node.recipes()) {
+                for (String ingredient : recipe.ingredients().keySet()) {
+                    dependents.computeIfAbsent(ingredient, k -> new ArrayList<>()).add(node.itemId());
+                }
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            String current = queue.poll();
+            int newDepth = depths.getInt(current) + 1;
+            for (String dependent : dependents.getOrDefault(current, List.of())) {
+                int existing = depths.getInt(dependent);
+                if (existing == -1 || newDepth < existing) {
+                    depths.put(dependent, newDepth);
+                    if (newDepth < settings.getMaxDepth()) {
+                        queue.offer(dependent);
+                    }
+                }
+            }
+        }
+
+        List<String> ordered = new ArrayList<>(depths.keySet());
+        ordered.sort(Comparator.<String>comparingInt(depths::getInt).thenComparing(Comparator.naturalOrder()));
+        for (String itemId : ordered) {
+            if (!results.containsKey(itemId)) {
+                resolve(itemId, depths.getInt(itemId), settings, results);
+            }
+        }
+
+        List<String> remaining = new ArrayList<>(nodes.keySet());
+        Collections.sort(remaining);
+        for (String itemId : remaining) {
+            if (!results.containsKey(itemId)) {
+                resolve(itemId, -1, settings, results);
+            }
+        }
+
+        return results;
+    }
+
+    private void resolve(String itemId, int depth, RecipeAspectConfig settings, Map<String, Result> results) {
+        Node node = nodes.get(itemId);
+        if (node == null || node.base() || node.cycleBroken()) {
+            return;
+        }
+
+        Object2IntOpenHashMap<String> best = null;
+        int bestValue = Integer.MAX_VALUE;
+        int bestIndex = -1;
+
+        List<RecipeEdge> recipes = node.recipes();
+        for (int i = 0; i < recipes.size(); i++) {
+            RecipeEdge recipe = recipes.get(i);
+            Object2IntOpenHashMap<String> combined = new Object2IntOpenHashMap<>();
+
+            for (Map.Entry<String, Integer> ingredient : recipe.ingredients().entrySet()) {
+                Result ingredientResult = results.get(ingredient.getKey());
+                if (ingredientResult == null) continue;
+                for (Object2IntMap.Entry<String> aspect : ingredientResult.aspects().object2IntEntrySet()) {
+                    combined.addTo(aspect.getKey(), aspect.getIntValue() * ingredient.getValue());
+                }
+            }
+
+            if (combined.isEmpty()) continue;
+
+            double lossFactor = settings.getLossFactor(recipe.typeId());
+            int total = 0;
+            for (Object2IntMap.Entry<String> aspect : combined.object2IntEntrySet()) {
+                int adjusted = Math.max(1, (int) Math.ceil(aspect.getIntValue() * lossFactor / recipe.outputCount()));
+                aspect.setValue(adjusted);
+                total += adjusted;
+            }
+
+            if (best == null || total < bestValue) {
+                best = combined;
+                bestValue = total;
+                bestIndex = i;
+            }
+        }
+
+        if (best != null) {
+            results.put(itemId, new Result(best, bestIndex, depth));
+        }
+    }
+
+    private static JsonObject writeNode(Node node) {
+        JsonObject json = new JsonObject();
+        json.addProperty("id", node.itemId());
+        if (node.base()) json.addProperty("base", true);
+        json.addProperty("depth", node.depth());
+        if (node.scc() >= 0) json.addProperty("scc", node.scc());
+        if (node.cycleBroken()) json.addProperty("cycle_broken", true);
+        json.addProperty("chosen", node.chosenRecipe());
+        json.addProperty("ru", node.totalRU());
+        json.add("aspects", writeCounts(node.aspects()));
+
+        JsonArray recipes = new JsonArray();
+        for (RecipeEdge recipe : node.recipes()) {
+            JsonObject recipeJson = new JsonObject();
+            recipeJson.addProperty("recipe", recipe.recipeId());
+            recipeJson.addProperty("type", recipe.typeId());
+            recipeJson.addProperty("out", recipe.outputCount());
+            recipeJson.add("in", writeCounts(recipe.ingredients()));
+            recipes.add(recipeJson);
+        }
+        json.add("recipes", recipes);
+        return json;
+    }
+
+    private static Node readNode(JsonObject json) {
+        List<RecipeEdge> recipes = new ArrayList<>();
+        if (json.has("recipes")) {
+            for (JsonElement element : json.getAsJsonArray("recipes")) {
+                JsonObject recipeJson = element.getAsJsonObject();
+                recipes.add(new RecipeEdge(
+                        recipeJson.get("recipe").getAsString(),
+                        recipeJson.get("type").getAsString(),
+                        recipeJson.get("out").getAsInt(),
+                        readCounts(recipeJson.getAsJsonObject("in"))
+                ));
+            }
+        }
+
+        return new Node(
+                json.get("id").getAsString(),
+                json.has("base") && json.get("base").getAsBoolean(),
+                json.has("depth") ? json.get("depth").getAsInt() : -1,
+                json.has("scc") ? json.get("scc").getAsInt() : -1,
+                json.has("cycle_broken") && json.get("cycle_broken").getAsBoolean(),
+                json.has("chosen") ? json.get("chosen").getAsInt() : -1,
+                recipes,
+                json.has("aspects") ? readCounts(json.getAsJsonObject("aspects")) : Map.of()
+        );
+    }
+
+    private static JsonObject writeCounts(Map<String, Integer> counts) {
+        JsonObject json = new JsonObject();
+        counts.forEach(json::addProperty);
+        return json;
+    }
+
+    private static Map<String, Integer> readCounts(JsonObject json) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().getAsInt());
+        }
+        return counts;
+    }
+}
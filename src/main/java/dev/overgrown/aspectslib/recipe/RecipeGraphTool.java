@@ -0,0 +1,139 @@
+package dev.overgrown.aspectslib.recipe;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Headless entry point for tuning {@link RecipeAspectConfig} against an exported recipe graph.
+ * <p>
+ * Usage (only the mod jar, Gson and fastutil are needed on the classpath):
+ * <pre>{@code
+ * java -cp aspectslib.jar:gson.jar:fastutil.jar dev.overgrown.aspectslib.recipe.RecipeGraphTool \
+ *     recipe_graph.jsonl [--config=recipe_aspects.json] [--out=result.jsonl] [craftingLoss=0.7 ...]
+ * }</pre>
+ * The loss factors recorded in the dump are used as a starting point, then overridden by the optional
+ * config file and finally by any {@code key=value} arguments.
+ * </p>
+ */
+public final class RecipeGraphTool {
+    private static final Gson GSON = new Gson();
+
+    private RecipeGraphTool() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: RecipeGraphTool <dump.jsonl> [--config=<file>] [--out=<file>] [key=value ...]");
+            System.exit(1);
+            return;
+        }
+
+        long loadStart = System.nanoTime();
+        RecipeGraphDump dump = RecipeGraphDump.read(Paths.get(args[0]));
+        long loadTime = System.nanoTime() - loadStart;
+
+        JsonObject settings = dump.getConfig().deepCopy();
+        Path output = null;
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.startsWith("--config=")) {
+                JsonObject file = JsonParser.parseString(Files.readString(Paths.get(arg.substring("--config=".length())))).getAsJsonObject();
+                for (Map.Entry<String, JsonElement> entry : file.entrySet()) {
+                    settings.add(entry.getKey(), entry.getValue());
+                }
+            } else if (arg.startsWith("--out=")) {
+                output = Paths.get(arg.substring("--out=".length()));
+            } else if (arg.indexOf('=') > 0) {
+                int split = arg.indexOf('=');
+                settings.add(arg.substring(0, split), JsonParser.parseString(arg.substring(split + 1)));
+            } else {
+                System.err.println("Ignoring unknown argument: " + arg);
+            }
+        }
+
+        RecipeAspectConfig config = RecipeAspectConfig.fromJson(settings);
+
+        long propagateStart = System.nanoTime();
+        Map<String, RecipeGraphDump.Result> results = dump.propagate(config);
+        long propagateTime = System.nanoTime() - propagateStart;
+
+        int changed = 0;
+        long totalBefore = 0;
+        long totalAfter = 0;
+        int loops = 0;
+        for (RecipeGraphDump.Node node : dump.getNodes().values()) {
+            if (node.scc() >= 0) loops = Math.max(loops, node.scc() + 1);
+            if (node.base()) continue;
+
+            RecipeGraphDump.Result result = results.get(node.itemId());
+            int before = node.totalRU();
+            int after = result != null ? result.totalRU() : 0;
+            totalBefore += before;
+            totalAfter += after;
+            if (before != after) changed++;
+        }
+
+        System.out.printf("Loaded %d nodes (%d recipe loops) in %.1f ms%n", dump.getNodes().size(), loops, loadTime / 1.0e6);
+        System.out.printf("Propagated %d items in %.1f ms%n", results.size(), propagateTime / 1.0e6);
+        System.out.printf("Loss factors: crafting=%.3f smelting=%.3f smithing=%.3f stonecutting=%.3f, maxDepth=%d%n",
+                config.getCraftingLoss(), config.getSmeltingLoss(), config.getSmithingLoss(),
+                config.getStonecuttingLoss(), config.getMaxDepth());
+        System.out.printf("Derived RU: %d -> %d, %d items changed%n", totalBefore, totalAfter, changed);
+
+        if (output != null) {
+            writeResults(output, dump, results);
+            System.out.println("Wrote results to " + output.toAbsolutePath());
+        }
+    }
+
+    private static void writeResults(Path output, RecipeGraphDump dump, Map<String, RecipeGraphDump.Result> results) throws IOException {
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+
+        List<String> ids = new ArrayList<>(results.keySet());
+        Collections.sort(ids);
+
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            for (String id : ids) {
+                RecipeGraphDump.Result result = results.get(id);
+                RecipeGraphDump.Node node = dump.getNodes().get(id);
+
+                JsonObject json = new JsonObject();
+                json.addProperty("id", id);
+                json.addProperty("depth", result.depth());
+                json.addProperty("chosen", result.chosenRecipe());
+                if (node != null && result.chosenRecipe() >= 0) {
+                    json.addProperty("recipe", node.recipes().get(result.chosenRecipe()).recipeId());
+                }
+                json.addProperty("ru", result.totalRU());
+                if (node != null) {
+                    json.addProperty("previous_ru", node.totalRU());
+                }
+
+                JsonObject aspects = new JsonObject();
+                for (Object2IntMap.Entry<String> entry : result.aspects().object2IntEntrySet()) {
+                    aspects.addProperty(entry.getKey(), entry.getIntValue());
+                }
+                json.add("aspects", aspects);
+
+                writer.write(GSON.toJson(json));
+                writer.newLine();
+            }
+        }
+    }
+}